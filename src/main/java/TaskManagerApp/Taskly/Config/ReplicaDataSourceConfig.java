@@ -0,0 +1,97 @@
+package TaskManagerApp.Taskly.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-replica routing, active when taskly.datasource.replica.url is set.
+ *
+ * Two Hikari pools: the primary (spring.datasource.*, spring.datasource.hikari.*) and the
+ * replica (taskly.datasource.replica.*). A read-only transaction started by one of the
+ * services listed in taskly.datasource.replica.services - TaskService's
+ * @Transactional(readOnly = true) list and dashboard queries - runs on the replica;
+ * everything else, including Flyway and all writes, stays on the primary.
+ *
+ * The routing pool is wrapped in a LazyConnectionDataSourceProxy so the physical connection
+ * is only taken at the first statement, after the transaction's read-only flag and name are
+ * known. Replica reads may lag the primary by the replication delay.
+ */
+@Configuration
+@ConditionalOnProperty("taskly.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    enum Target { PRIMARY, REPLICA }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("taskly.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${taskly.datasource.replica.url}") String url,
+                                              @Value("${taskly.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${taskly.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setJdbcUrl(url);
+        replica.setUsername(username);
+        replica.setPassword(password);
+        replica.setPoolName("taskly-replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 @Value("${taskly.datasource.replica.services:TaskManagerApp.Taskly.Service.TaskService}") List<String> services) {
+        ReadOnlyRoutingDataSource routing = new ReadOnlyRoutingDataSource(services);
+        routing.setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // Transaction names are "<declaring class>.<method>" for @Transactional methods
+    static final class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+
+        private final List<String> services;
+
+        ReadOnlyRoutingDataSource(List<String> services) {
+            this.services = services.stream().map(service -> service.strip() + ".").toList();
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                return Target.PRIMARY;
+            }
+            String name = TransactionSynchronizationManager.getCurrentTransactionName();
+            if (name == null) {
+                return Target.PRIMARY;
+            }
+            for (String service : services) {
+                if (name.startsWith(service)) {
+                    return Target.REPLICA;
+                }
+            }
+            return Target.PRIMARY;
+        }
+    }
+}
@@ -34,6 +34,7 @@ public class AuthController {
     public String registerUser(@RequestParam String username,
                                @RequestParam String password,
                                @RequestParam(required = false) String email,
+                               @RequestParam(required = false) String timeZone,
                                RedirectAttributes redirectAttributes) {
 
         try {
@@ -50,7 +51,7 @@ public class AuthController {
             }
 
             // Register user
-            boolean success = userService.registerUser(username, password, email);
+            boolean success = userService.registerUser(username, password, email, timeZone);
 
             if (success) {
                 redirectAttributes.addFlashAttribute("success", "🎉 Registration successful! You can now log in.");
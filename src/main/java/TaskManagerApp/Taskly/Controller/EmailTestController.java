@@ -1,6 +1,8 @@
 package TaskManagerApp.Taskly.Controller;
 
         import TaskManagerApp.Taskly.Service.EmailService;
+        import org.slf4j.Logger;
+        import org.slf4j.LoggerFactory;
         import org.springframework.web.bind.annotation.GetMapping;
         import org.springframework.web.bind.annotation.RequestParam;
         import org.springframework.web.bind.annotation.RestController;
@@ -8,6 +10,8 @@ package TaskManagerApp.Taskly.Controller;
 @RestController
 public class EmailTestController {
 
+    private static final Logger log = LoggerFactory.getLogger(EmailTestController.class);
+
     private final EmailService emailService;
 
     // Constructor injection
@@ -35,7 +39,7 @@ public class EmailTestController {
             emailService.sendEmail(to, subject, body);
             return "✅ Email sent successfully to: " + to;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("❌ Test email to {} failed", to, e);
             return "❌ Failed to send email: " + e.getMessage();
         }
     }
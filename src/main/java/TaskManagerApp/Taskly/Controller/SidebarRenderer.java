@@ -0,0 +1,86 @@
+package TaskManagerApp.Taskly.Controller;
+
+import TaskManagerApp.Taskly.Model.User;
+import TaskManagerApp.Taskly.Service.DashboardStats;
+import TaskManagerApp.Taskly.Service.DashboardStatsService;
+import jakarta.servlet.ServletContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.ui.Model;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Renders the sidebar filters (templates/fragments/sidebar.html) once per user and
+ * reuses the HTML on tasks, add-task and edit-task.
+ *
+ * An entry is keyed by the counts it was rendered from: TaskService keeps the
+ * DashboardStatsCache current on every write, so changed counts mean a re-render and
+ * unchanged counts mean the cached HTML is still exact. Bounded like the stats cache.
+ */
+@Component
+class SidebarRenderer {
+
+    private static final String TEMPLATE = "fragments/sidebar";
+    private static final Set<String> FRAGMENT = Set.of("filters");
+
+    private record Rendered(DashboardStats stats, String html) {}
+
+    private final ITemplateEngine templateEngine;
+    private final DashboardStatsService dashboardStatsService;
+    private final String contextPath;
+    private final boolean enabled;
+    private final Map<Long, Rendered> rendered;
+
+    SidebarRenderer(ITemplateEngine templateEngine, DashboardStatsService dashboardStatsService,
+                    ServletContext servletContext,
+                    @Value("${taskly.dashboard-cache.enabled:true}") boolean enabled,
+                    @Value("${taskly.dashboard-cache.max-users:10000}") int maxUsers) {
+        this.templateEngine = templateEngine;
+        this.dashboardStatsService = dashboardStatsService;
+        this.contextPath = servletContext.getContextPath();
+        this.enabled = enabled;
+        this.rendered = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Rendered> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    // Model attribute "sidebarFilters", inserted with th:utext by the three pages
+    void addTo(Model model, User user) {
+        DashboardStats stats = dashboardStatsService.getStats(user);
+        model.addAttribute("sidebarFilters", render(user.getId(), stats));
+    }
+
+    String render(Long userId, DashboardStats stats) {
+        if (!enabled || userId == null) {
+            return renderFragment(stats);
+        }
+
+        synchronized (rendered) {
+            Rendered entry = rendered.get(userId);
+            if (entry != null && entry.stats().equals(stats)) {
+                return entry.html();
+            }
+        }
+
+        // Render outside the lock; two concurrent misses just render the same HTML twice
+        String html = renderFragment(stats);
+        synchronized (rendered) {
+            rendered.put(userId, new Rendered(stats, html));
+        }
+        return html;
+    }
+
+    private String renderFragment(DashboardStats stats) {
+        Context context = new Context(Locale.getDefault(), Map.of("stats", stats, "contextPath", contextPath));
+        return templateEngine.process(TEMPLATE, FRAGMENT, context);
+    }
+}
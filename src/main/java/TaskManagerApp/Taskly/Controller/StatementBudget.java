@@ -0,0 +1,19 @@
+package TaskManagerApp.Taskly.Controller;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * SQL statements a handler may run per request (taskly.sql.budget.default when absent).
+ * Raise it only for handlers whose statement count legitimately grows with the input,
+ * such as batched imports; growth with the number of rows read is an N+1 to fix instead.
+ * A raised budget also lets one statement repeat up to that many times.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@interface StatementBudget {
+
+    int value();
+}
@@ -0,0 +1,95 @@
+package TaskManagerApp.Taskly.Controller;
+
+import TaskManagerApp.Taskly.Service.SqlStatementCounter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+
+/**
+ * Opens a SqlStatementCounter scope around every controller call, view rendering included,
+ * named after the route ("GET /home") so the metrics stay one series per endpoint.
+ *
+ * The interceptor half opens the scope once the handler (and its @StatementBudget) is known;
+ * the filter half closes it after the dispatch returns. Closing in the filter rather than in
+ * afterCompletion matters: Spring only logs exceptions thrown from afterCompletion, while an
+ * exception here fails the request, so fail-on-exceed breaks the test that added an N+1.
+ * Async handlers (SSE, streamed exports) are counted up to the point they go async.
+ */
+@Component
+class StatementBudgetFilter extends OncePerRequestFilter implements HandlerInterceptor, WebMvcConfigurer {
+
+    private static final String SCOPE = StatementBudgetFilter.class.getName() + ".scope";
+
+    private final SqlStatementCounter statementCounter;
+
+    StatementBudgetFilter(SqlStatementCounter statementCounter) {
+        this.statementCounter = statementCounter;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Forwards and error pages within the same dispatch count against the first handler's scope
+        if (!(handler instanceof HandlerMethod method) || request.getAttribute(SCOPE) != null) {
+            return true;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String name = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+
+        StatementBudget budget = method.getMethodAnnotation(StatementBudget.class);
+        request.setAttribute(SCOPE, budget != null
+                ? statementCounter.open(name, budget.value())
+                : statementCounter.open(name));
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException | Error e) {
+            // The request already failed; keep its exception and attach the budget one to it
+            try {
+                close(request);
+            } catch (IllegalStateException budget) {
+                e.addSuppressed(budget);
+            }
+            throw e;
+        }
+        // Throws when over budget with fail-on-exceed
+        close(request);
+    }
+
+    // Async and error dispatches run the interceptor again, so their scopes need closing too
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldNotFilterErrorDispatch() {
+        return false;
+    }
+
+    private void close(HttpServletRequest request) {
+        if (request.getAttribute(SCOPE) instanceof SqlStatementCounter.Scope scope) {
+            request.removeAttribute(SCOPE);
+            scope.close();
+        }
+    }
+}
@@ -1,51 +1,130 @@
 package TaskManagerApp.Taskly.Controller;
 
 import TaskManagerApp.Taskly.Model.Task;
+import TaskManagerApp.Taskly.Model.TaskView;
 import TaskManagerApp.Taskly.Model.User;
+import TaskManagerApp.Taskly.Service.ImportTooLargeException;
+import TaskManagerApp.Taskly.Service.TaskImportResult;
+import TaskManagerApp.Taskly.Service.TaskImportService;
+import TaskManagerApp.Taskly.Service.TaskPage;
 import TaskManagerApp.Taskly.Service.TaskService;
 import TaskManagerApp.Taskly.Service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-
-
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NDJSON = "application/x-ndjson";
+    static final String TEXT_CSV = "text/csv";
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    // Clients may keep list responses but must revalidate them (If-None-Match) before reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    // Body of the /batch endpoints; completed defaults to true, priority is required for /batch/priority
+    public record BatchRequest(List<Long> ids, Boolean completed, String priority) {}
+
+    public record BatchResult(int affected) {}
+
     private final TaskService taskService;
     private final UserService userService;
+    private final TaskImportService taskImportService;
+    private final ObjectMapper objectMapper;
     //private final EmailService emailService;
 
-    public TaskController(TaskService taskService, UserService userService) {
+    public TaskController(TaskService taskService, UserService userService,
+                          TaskImportService taskImportService, ObjectMapper objectMapper) {
         this.taskService = taskService;
         this.userService = userService;
+        this.taskImportService = taskImportService;
+        this.objectMapper = objectMapper;
     }
 
 
 
 
     /**
-     * Retrieves all tasks for the authenticated user.
-     * Uses findByUser from the updated TaskService.
+     * Retrieves one page of tasks for the authenticated user, ordered by id.
+     * Pass the X-Next-Cursor response header back as "after" to get the next page;
+     * the header is absent on the last page. Page size is capped at 200.
+     * Answers 304 Not Modified when If-None-Match still matches the list's ETag.
      */
     @GetMapping
-    public List<Task> getAllTasks(Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName()).orElseThrow();
-        // Use the updated service method name
-        return taskService.findByUser(user);
+    public ResponseEntity<List<TaskView>> getAllTasks(@RequestParam(required = false) Long after,
+                                                  @RequestParam(defaultValue = "50") int size,
+                                                  Authentication authentication,
+                                                  WebRequest request) {
+        User user = userService.getCurrentUser(authentication);
+        if (isNotModified(request, user)) return null;
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        TaskPage page = taskService.findPageByUser(user, after, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(REVALIDATE);
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return response.body(page.items());
+    }
+
+    /**
+     * Streams every task of the authenticated user as newline-delimited JSON,
+     * without materializing the full list in memory.
+     */
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportTasks(Authentication authentication) {
+        User user = userService.getCurrentUser(authentication);
+
+        StreamingResponseBody body = out -> taskService.forEachTask(user, task -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(task));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().header("Content-Type", NDJSON).body(body);
+    }
+
+    /**
+     * Full-text search over the user's task titles and descriptions, best match first.
+     * Every word must match, exactly, as a prefix ("rep" finds "report") or with a typo.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskView>> searchTasks(@RequestParam("q") String query,
+                                                      @RequestParam(defaultValue = "20") int limit,
+                                                      Authentication authentication) {
+        if (query.isBlank()) return ResponseEntity.badRequest().build();
+        User user = userService.getCurrentUser(authentication);
+
+        int max = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        return ResponseEntity.ok(taskService.searchTasks(user, query, max));
     }
 
     /**
      * Retrieves a single task by ID.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable Long id, Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName()).orElseThrow();
-        Optional<Task> task = taskService.getTaskById(id, user);
+    public ResponseEntity<TaskView> getTaskById(@PathVariable Long id, Authentication authentication) {
+        User user = userService.getCurrentUser(authentication);
+        Optional<TaskView> task = taskService.getTaskViewById(id, user);
         return task.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -54,21 +133,51 @@ public class TaskController {
      * The service handles setting the 'createdOn' and 'user' fields.
      */
     @PostMapping
-    public Task createTask(@RequestBody Task task, Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName()).orElseThrow();
-        return taskService.createTask(task, user);
+    public TaskView createTask(@RequestBody Task task, Authentication authentication) {
+        User user = userService.getCurrentUser(authentication);
+        return TaskView.from(taskService.createTask(task, user));
+    }
+
+    /**
+     * Bulk-creates tasks from natural-language lines ("Submit report tomorrow 5pm").
+     * Accepts text/plain (one task per line) or text/csv ("text[,priority[,category]]").
+     * Sends one summary email; responds 413 when the body exceeds taskly.import.max-lines.
+     */
+    // Per 50 rows (taskly.import.max-lines=1000): one INSERT batch and one id block
+    @StatementBudget(100)
+    @PostMapping(value = "/import", consumes = {MediaType.TEXT_PLAIN_VALUE, TEXT_CSV})
+    public ResponseEntity<TaskImportResult> importTasks(@RequestBody String body,
+                                                        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                        Authentication authentication) {
+        User user = userService.getCurrentUser(authentication);
+        boolean csv = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV));
+
+        try {
+            TaskImportResult result = taskImportService.importTasks(body, csv, user,
+                    authentication.getName(), userService.getCurrentEmail(authentication));
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        } catch (ImportTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
     }
 
     /**
      * Updates an existing task by ID.
+     * Include the "version" from the last read to get 409 Conflict instead of
+     * silently overwriting a newer edit.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody Task task, Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName()).orElseThrow();
+    public ResponseEntity<TaskView> updateTask(@PathVariable Long id, @RequestBody Task task, Authentication authentication) {
+        User user = userService.getCurrentUser(authentication);
 
         // TaskService.updateTask returns the updated Optional<Task>
-        Optional<Task> updatedTask = taskService.updateTask(id, task, user);
-        return updatedTask.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+        try {
+            Optional<Task> updatedTask = taskService.updateTask(id, task, user);
+            return updatedTask.map(TaskView::from).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (OptimisticLockingFailureException e) {
+            // The task changed since the client read it (send the current "version" to overwrite)
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 
     /**
@@ -76,36 +185,88 @@ public class TaskController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(@PathVariable Long id, Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName()).orElseThrow();
-
-        // Attempt to get the task first to ensure it belongs to the user
-        Optional<Task> taskToDelete = taskService.getTaskById(id, user);
+        User user = userService.getCurrentUser(authentication);
 
-        if (taskToDelete.isPresent()) {
-            // TaskService.deleteTask handles the delete operation
-            taskService.deleteTask(id, user);
+        // One owner-scoped DELETE; nothing deleted means missing or not ours
+        if (taskService.deleteOwned(id, user.getId())) {
             return ResponseEntity.noContent().build();
         } else {
             return ResponseEntity.notFound().build();
         }
     }
     /**
-     * Get tasks filtered by priority for the logged-in user
+     * Marks the given tasks completed (or not, with "completed": false) in one UPDATE.
+     * Ids that do not exist or belong to another user are ignored; the response
+     * holds the number of tasks actually changed.
+     */
+    @PostMapping("/batch/complete")
+    public ResponseEntity<BatchResult> completeTasks(@RequestBody BatchRequest request, Authentication authentication) {
+        if (!isValidBatch(request)) return ResponseEntity.badRequest().build();
+        User user = userService.getCurrentUser(authentication);
+
+        boolean completed = request.completed() == null || request.completed();
+        return ResponseEntity.ok(new BatchResult(taskService.setCompleted(request.ids(), completed, user)));
+    }
+
+    /**
+     * Sets the priority of the given tasks in one UPDATE.
+     */
+    @PostMapping("/batch/priority")
+    public ResponseEntity<BatchResult> reprioritizeTasks(@RequestBody BatchRequest request, Authentication authentication) {
+        if (!isValidBatch(request) || request.priority() == null || request.priority().isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        User user = userService.getCurrentUser(authentication);
+
+        return ResponseEntity.ok(new BatchResult(taskService.setPriority(request.ids(), request.priority().strip(), user)));
+    }
+
+    /**
+     * Deletes the given tasks in one DELETE.
+     */
+    @PostMapping("/batch/delete")
+    public ResponseEntity<BatchResult> deleteTasks(@RequestBody BatchRequest request, Authentication authentication) {
+        if (!isValidBatch(request)) return ResponseEntity.badRequest().build();
+        User user = userService.getCurrentUser(authentication);
+
+        return ResponseEntity.ok(new BatchResult(taskService.deleteTasks(request.ids(), user)));
+    }
+
+    private static boolean isValidBatch(BatchRequest request) {
+        return request.ids() != null && !request.ids().isEmpty() && request.ids().size() <= MAX_BATCH_SIZE
+                && !request.ids().contains(null);
+    }
+
+    /**
+     * Get tasks filtered by priority for the logged-in user (304 when unchanged, see getAllTasks)
      */
     @GetMapping("/priority/{priority}")
-    public List<Task> getTasksByPriority(@PathVariable String priority, Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName()).orElseThrow();
-        return taskService.getTasksByPriority(user, priority);
+    public ResponseEntity<List<TaskView>> getTasksByPriority(@PathVariable String priority, Authentication authentication,
+                                                             WebRequest request) {
+        User user = userService.getCurrentUser(authentication);
+        if (isNotModified(request, user)) return null;
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(taskService.getTasksByPriority(user, priority));
     }
 
     /**
-     * Get tasks filtered by category for the logged-in user
+     * Get tasks filtered by category for the logged-in user (304 when unchanged, see getAllTasks)
      */
     @GetMapping("/category/{category}")
-    public List<Task> getTasksByCategory(@PathVariable String category, Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName()).orElseThrow();
-        return taskService.getTasksByCategory(user, category);
+    public ResponseEntity<List<TaskView>> getTasksByCategory(@PathVariable String category, Authentication authentication,
+                                                             WebRequest request) {
+        User user = userService.getCurrentUser(authentication);
+        if (isNotModified(request, user)) return null;
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(taskService.getTasksByCategory(user, category));
     }
 
+    /**
+     * Conditional GET for the list endpoints. The ETag versions the user's whole task list
+     * (count + latest write), so one cheap index-only query replaces the list query and the
+     * JSON body when a poller's copy is still current. checkNotModified sets the ETag header
+     * and, on a match, the 304 status; the handler then returns null to send no body.
+     */
+    private boolean isNotModified(WebRequest request, User user) {
+        return request.checkNotModified(taskService.getTaskListVersion(user).eTag());
+    }
 
 }
@@ -1,13 +1,22 @@
 package TaskManagerApp.Taskly.Controller;
 
+import TaskManagerApp.Taskly.Model.DisplayFormats;
 import TaskManagerApp.Taskly.Model.Task;
+import TaskManagerApp.Taskly.Model.TaskView;
 import TaskManagerApp.Taskly.Model.User;
 import TaskManagerApp.Taskly.Service.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -17,9 +26,16 @@ import TaskManagerApp.Taskly.Service.EmailService;
 @Controller
 public class TaskViewController {
 
+    private static final Logger log = LoggerFactory.getLogger(TaskViewController.class);
+
+    // Sent by static/js/script.js: the page patches itself from the live feed, so answer 204 instead of a redirect
+    static final String LIVE_HEADER = "X-Taskly-Live";
+
     private final TaskService taskService;
     private final UserService userService;
     private final EmailService emailService;
+    private final SidebarRenderer sidebarRenderer;
+    private final TaskLiveFeed liveFeed;
 
     @Autowired
     private NLPService nlpService;
@@ -27,10 +43,13 @@ public class TaskViewController {
 
 
 
-    public TaskViewController(TaskService taskService, UserService userService, EmailService emailService) {
+    public TaskViewController(TaskService taskService, UserService userService, EmailService emailService,
+                              SidebarRenderer sidebarRenderer, TaskLiveFeed liveFeed) {
         this.taskService = taskService;
         this.userService = userService;
         this.emailService = emailService;
+        this.sidebarRenderer = sidebarRenderer;
+        this.liveFeed = liveFeed;
     }
     // Redirect root URL
     @GetMapping("/")
@@ -47,24 +66,24 @@ public class TaskViewController {
             @RequestParam(required = false) String category) {
 
         model.addAttribute("username", authentication.getName());
-        User user = userService.findByUsername(authentication.getName()).orElseThrow();
+        User user = userService.getCurrentUser(authentication);
 
         LocalDate today = LocalDate.now();
 
         if (priority != null && !priority.isEmpty()) {
-            List<Task> tasks = taskService.getTasksByPriority(user, priority);
+            List<TaskView> tasks = taskService.getTasksByPriority(user, priority);
             model.addAttribute("tasksFiltered", tasks);
             model.addAttribute("viewMode", "Filtered");
             model.addAttribute("filterType", priority + " Priority");
         } else if (category != null && !category.isEmpty()) {
-            List<Task> tasks = taskService.getTasksByCategory(user, category);
+            List<TaskView> tasks = taskService.getTasksByCategory(user, category);
             model.addAttribute("tasksFiltered", tasks);
             model.addAttribute("viewMode", "Filtered");
             model.addAttribute("filterType", category + " Tasks");
         } else {
-            List<Task> tasksDueTodayOlder = taskService.getTasksDueTodayOlder(user, today);
-            List<Task> tasksAddedToday = taskService.getTasksAddedToday(user, today);
-            List<Task> overdueTasks = taskService.getOverdueTasks(user, today);
+            List<TaskView> tasksDueTodayOlder = taskService.getTasksDueTodayOlder(user, today);
+            List<TaskView> tasksAddedToday = taskService.getTasksAddedToday(user, today);
+            List<TaskView> overdueTasks = taskService.getOverdueTasks(user, today);
 
 
             model.addAttribute("tasksDueTodayOlder", tasksDueTodayOlder);
@@ -73,11 +92,7 @@ public class TaskViewController {
             model.addAttribute("viewMode", "Grouped");
         }
 
-        model.addAttribute("highPriorityCount", taskService.countTasksByPriority(user, "High"));
-        model.addAttribute("mediumPriorityCount", taskService.countTasksByPriority(user, "Medium"));
-        model.addAttribute("lowPriorityCount", taskService.countTasksByPriority(user, "Low"));
-        model.addAttribute("workCategoryCount", taskService.countTasksByCategory(user, "Work"));
-        model.addAttribute("personalCategoryCount", taskService.countTasksByCategory(user, "Personal"));
+        addSidebarCounts(model, user);
 
         return "tasks";
     }
@@ -90,17 +105,13 @@ public class TaskViewController {
         model.addAttribute("username", authentication.getName());
 
         // 2️⃣ Get the logged-in user
-        User user = userService.findByUsername(authentication.getName()).orElseThrow();
+        User user = userService.getCurrentUser(authentication);
 
         // 3️⃣ Add a new empty task object for the form
         model.addAttribute("task", new Task());
 
         // 4️⃣ Add sidebar counts (same as in /home)
-        model.addAttribute("highPriorityCount", taskService.countTasksByPriority(user, "High"));
-        model.addAttribute("mediumPriorityCount", taskService.countTasksByPriority(user, "Medium"));
-        model.addAttribute("lowPriorityCount", taskService.countTasksByPriority(user, "Low"));
-        model.addAttribute("workCategoryCount", taskService.countTasksByCategory(user, "Work"));
-        model.addAttribute("personalCategoryCount", taskService.countTasksByCategory(user, "Personal"));
+        addSidebarCounts(model, user);
 
         // 5️⃣ Return the view
         return "add-task";
@@ -112,16 +123,16 @@ public class TaskViewController {
 
     @PostMapping("/tasks/add")
     public String addTask(@ModelAttribute Task task, Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName()).orElseThrow();
+        User user = userService.getCurrentUser(authentication);
 
-        // 🔍 Check if NLP should analyze (e.g., no due date or "natural" sentence)
-        if ((task.getDueDate() == null || task.getDueTime() == null) &&
-                task.getTitle() != null && task.getTitle().matches(".*\\b(tomorrow|today|next|at|pm|am|after|in)\\b.*")) {
+        // 🔍 Let NLP analyze when no due date/time was picked; its result is only used
+        // if the sentence actually named a day or time (single scan, no regex gate)
+        if ((task.getDueDate() == null || task.getDueTime() == null) && task.getTitle() != null) {
 
-            System.out.println("🧠 Running NLP on input: " + task.getTitle());
             ParsedTask parsed = nlpService.parseTaskDescription(task.getTitle());
 
-            if (parsed != null) {
+            if (parsed != null && parsed.dueDateTime() != null) {
+                log.debug("🧠 NLP parsed input: {}", task.getTitle());
                 if (parsed.title() != null && !parsed.title().isBlank()) {
                     task.setTitle(parsed.title());
                 }
@@ -143,10 +154,10 @@ public class TaskViewController {
         String dueDateTimeStr;
         if (saved.getDueDate() != null) {
             if (saved.getDueTime() != null) {
-                dueDateTimeStr = saved.getDueDate().format(java.time.format.DateTimeFormatter.ofPattern("dd MMM yyyy"))
-                        + " at " + saved.getDueTime().format(java.time.format.DateTimeFormatter.ofPattern("hh:mm a"));
+                dueDateTimeStr = saved.getDueDate().format(DisplayFormats.DATE)
+                        + " at " + saved.getDueTime().format(DisplayFormats.TIME);
             } else {
-                dueDateTimeStr = saved.getDueDate().format(java.time.format.DateTimeFormatter.ofPattern("dd MMM yyyy"));
+                dueDateTimeStr = saved.getDueDate().format(DisplayFormats.DATE);
             }
         } else {
             dueDateTimeStr = "No due date";
@@ -171,19 +182,20 @@ public class TaskViewController {
 
         — Taskly Notifications
         """,
-                user.getUsername(),
+                authentication.getName(),
                 saved.getTitle() != null ? saved.getTitle() : "Untitled Task",
                 dueDateTimeStr,
                 priorityStr,
                 categoryStr
         );
 
-        if (user.getEmail() != null && !user.getEmail().isBlank()) {
+        String email = userService.getCurrentEmail(authentication);
+        if (email != null && !email.isBlank()) {
             try {
-                emailService.sendEmail(user.getEmail(), subject, body);
-                System.out.println("✅ Task creation email sent to: " + user.getEmail());
+                emailService.sendEmail(email, subject, body);
+                log.debug("✅ Task creation email queued for: {}", email);
             } catch (Exception e) {
-                System.err.println("❌ Failed to send task creation email: " + e.getMessage());
+                log.warn("❌ Failed to send task creation email: {}", e.getMessage());
             }
         }
 
@@ -194,29 +206,60 @@ public class TaskViewController {
     // Delete task
     @PostMapping("/tasks/delete/{id}")
     public String deleteTask(@PathVariable Long id, Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName()).orElseThrow();
-        taskService.deleteTask(id, user);
+        User user = userService.getCurrentUser(authentication);
+        taskService.deleteOwned(id, user.getId());
         return "redirect:/home";
     }
 
+    // Delete task from the live dashboard (no re-render; the feed removes the card)
+    @PostMapping(value = "/tasks/delete/{id}", headers = LIVE_HEADER)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteTaskLive(@PathVariable Long id, Authentication authentication) {
+        User user = userService.getCurrentUser(authentication);
+        taskService.deleteOwned(id, user.getId());
+    }
+
     // Toggle completion
     @PostMapping("/tasks/toggle/{id}")
     public String toggleTask(@PathVariable Long id, Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName()).orElseThrow();
-        taskService.getTaskById(id, user).ifPresent(task -> {
-            task.setCompleted(!task.isCompleted());
-            taskService.updateTask(id, task, user);
-        });
+        User user = userService.getCurrentUser(authentication);
+        // Single UPDATE ... SET completed = NOT completed, scoped to the owner
+        taskService.toggleCompleted(id, user.getId());
         return "redirect:/home";
     }
 
+    // Toggle completion from the live dashboard (no re-render; the feed patches the card)
+    @PostMapping(value = "/tasks/toggle/{id}", headers = LIVE_HEADER)
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void toggleTaskLive(@PathVariable Long id, Authentication authentication) {
+        User user = userService.getCurrentUser(authentication);
+        taskService.toggleCompleted(id, user.getId());
+    }
+
+    // 📡 Live feed of the user's task changes (Server-Sent Events)
+    @GetMapping(value = "/tasks/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter liveFeed(Authentication authentication) {
+        User user = userService.getCurrentUser(authentication);
+        return liveFeed.subscribe(user.getId());
+    }
+
+    // One rendered task card, fetched by the live dashboard when the feed reports a change
+    @GetMapping("/tasks/{id}/card")
+    public String taskCard(@PathVariable Long id, Model model, Authentication authentication) {
+        User user = userService.getCurrentUser(authentication);
+        TaskView task = taskService.getTaskViewById(id, user)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        model.addAttribute("task", task);
+        return "tasks :: taskCard(task=${task})";
+    }
+
     // Show edit form
 
     @GetMapping("/tasks/edit/{id}")
     public String showEditForm(@PathVariable Long id, Model model, Authentication authentication) {
         model.addAttribute("username", authentication.getName());
-        User user = userService.findByUsername(authentication.getName()).orElseThrow();
-        Optional<Task> taskOptional = taskService.getTaskById(id, user);
+        User user = userService.getCurrentUser(authentication);
+        Optional<TaskView> taskOptional = taskService.getTaskViewForEdit(id, user);
 
         if (taskOptional.isEmpty()) {
             return "redirect:/home";
@@ -226,11 +269,7 @@ public class TaskViewController {
         model.addAttribute("task", taskOptional.get());
 
         // ✅ Add sidebar counts (for Priority and Category)
-        model.addAttribute("highPriorityCount", taskService.countTasksByPriority(user, "High"));
-        model.addAttribute("mediumPriorityCount", taskService.countTasksByPriority(user, "Medium"));
-        model.addAttribute("lowPriorityCount", taskService.countTasksByPriority(user, "Low"));
-        model.addAttribute("workCategoryCount", taskService.countTasksByCategory(user, "Work"));
-        model.addAttribute("personalCategoryCount", taskService.countTasksByCategory(user, "Personal"));
+        addSidebarCounts(model, user);
 
         return "edit-task";
     }
@@ -243,30 +282,25 @@ public class TaskViewController {
     public String updateTask(@PathVariable Long id,
                              @ModelAttribute("task") Task updatedTask,
                              Authentication authentication) {
-        User user = userService.findByUsername(authentication.getName()).orElseThrow();
+        User user = userService.getCurrentUser(authentication);
 
-        // Fetch existing task for this user
-        Optional<Task> existingTaskOptional = taskService.getTaskById(id, user);
-        if (existingTaskOptional.isEmpty()) {
-            return "redirect:/home";
+        // ✅ Update only editable fields; the hidden version field rejects edits made on a stale form
+        try {
+            if (taskService.updateTask(id, updatedTask, user).isEmpty()) {
+                return "redirect:/home";
+            }
+        } catch (OptimisticLockingFailureException e) {
+            log.info("⚠️ Stale edit rejected for task {}", id);
+            return "redirect:/tasks/edit/" + id + "?conflict";
         }
 
-        Task existingTask = existingTaskOptional.get();
-
-        // ✅ Update only editable fields
-        existingTask.setTitle(updatedTask.getTitle());
-        existingTask.setDescription(updatedTask.getDescription());
-        existingTask.setDueDate(updatedTask.getDueDate());
-        existingTask.setDueTime(updatedTask.getDueTime());
-        existingTask.setPriority(updatedTask.getPriority());
-        existingTask.setCategory(updatedTask.getCategory());
-        existingTask.setCompleted(updatedTask.isCompleted());
-
-        // ✅ Save the updated task
-        taskService.saveTask(existingTask);
-
         // Redirect back to home after saving
         return "redirect:/home";
     }
 
+    // Sidebar filters shared by tasks, add-task and edit-task (rendered once per user until counts change)
+    private void addSidebarCounts(Model model, User user) {
+        sidebarRenderer.addTo(model, user);
+    }
+
 }
\ No newline at end of file
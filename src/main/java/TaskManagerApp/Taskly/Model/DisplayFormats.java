@@ -0,0 +1,17 @@
+package TaskManagerApp.Taskly.Model;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Date/time formats shown to users (pages and emails). DateTimeFormatter is immutable and
+ * thread-safe, so one shared instance replaces an ofPattern(...) call per render.
+ */
+public final class DisplayFormats {
+
+    public static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd MMM yyyy");
+    public static final DateTimeFormatter SHORT_DATE = DateTimeFormatter.ofPattern("dd MMM yy");
+    public static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("hh:mm a");
+
+    private DisplayFormats() {
+    }
+}
@@ -0,0 +1,14 @@
+package TaskManagerApp.Taskly.Model;
+
+import java.time.LocalDate;
+
+/**
+ * What a delete needs from the rows it removes, read under a row lock: the state the
+ * per-user totals depend on and the sidebar group (priority, category) to count down.
+ */
+public record LockedTask(boolean completed, LocalDate dueDate, String priority, String category) {
+
+    public TaskState state() {
+        return new TaskState(completed, dueDate);
+    }
+}
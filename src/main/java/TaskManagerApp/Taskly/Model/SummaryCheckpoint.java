@@ -0,0 +1,62 @@
+package TaskManagerApp.Taskly.Model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Progress marker for one run of the daily summary job.
+ * Every user with an id up to lastUserId has already been handed to the mail queue,
+ * so a restarted run resumes after it instead of emailing everyone again.
+ */
+@Entity
+@Table(name = "summary_checkpoints")
+public class SummaryCheckpoint {
+
+    // e.g. "daily-summary:2026-10-17"
+    @Id
+    @Column(name = "job_key", length = 64)
+    private String jobKey;
+
+    @Column(name = "last_user_id", nullable = false)
+    private long lastUserId;
+
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+
+    @Column(name = "updated_on", nullable = false)
+    private LocalDateTime updatedOn;
+
+    public SummaryCheckpoint() {
+    }
+
+    public SummaryCheckpoint(String jobKey) {
+        this.jobKey = jobKey;
+        this.updatedOn = LocalDateTime.now();
+    }
+
+    public String getJobKey() {
+        return jobKey;
+    }
+
+    public long getLastUserId() {
+        return lastUserId;
+    }
+
+    public void setLastUserId(long lastUserId) {
+        this.lastUserId = lastUserId;
+        this.updatedOn = LocalDateTime.now();
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+        this.updatedOn = LocalDateTime.now();
+    }
+
+    public LocalDateTime getUpdatedOn() {
+        return updatedOn;
+    }
+}
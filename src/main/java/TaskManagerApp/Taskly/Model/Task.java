@@ -1,16 +1,35 @@
 package TaskManagerApp.Taskly.Model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Locale;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // Mirrors db/migration/V2__task_query_indexes.sql
+        @Index(name = "idx_tasks_user_category_key", columnList = "user_id, category_key"),
+        @Index(name = "idx_tasks_user_priority_key", columnList = "user_id, priority_key"),
+        @Index(name = "idx_tasks_user_completed_due", columnList = "user_id, completed, due_date"),
+        @Index(name = "idx_tasks_user_due_created", columnList = "user_id, due_date, created_on"),
+        @Index(name = "idx_tasks_user_created", columnList = "user_id, created_on"),
+        @Index(name = "idx_tasks_user_priority_category", columnList = "user_id, priority, category"),
+        // db/migration/V7__task_updated_on.sql
+        @Index(name = "idx_tasks_user_updated", columnList = "user_id, updated_on")
+})
 public class Task {
 
+    // Must match the "+ 50" seed in V5__task_id_generator.sql
+    static final int ID_BLOCK_SIZE = 50;
+
+    // Pooled table generator (db/migration/V5): ids are reserved 50 at a time so
+    // inserts can be JDBC-batched, which IDENTITY does not allow
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_ids")
+    @TableGenerator(name = "task_ids", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "tasks", allocationSize = Task.ID_BLOCK_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -24,6 +43,13 @@ public class Task {
     @Column(name = "priority")
     private String priority;
 
+    // Lowercase copies of category/priority used by the case-insensitive filters (indexed)
+    @Column(name = "category_key")
+    private String categoryKey;
+
+    @Column(name = "priority_key")
+    private String priorityKey;
+
     @Column(name = "due_date")
     private LocalDate dueDate;
 
@@ -37,7 +63,17 @@ public class Task {
     @Column(name = "created_on", nullable = false)
     private LocalDateTime createdOn;
 
-    // User relationship
+    // Last write (db/migration/V7); with the row count it versions the user's task list for ETags
+    @Column(name = "updated_on", nullable = false)
+    private LocalDateTime updatedOn;
+
+    // Optimistic lock (db/migration/V6): concurrent edits from two tabs fail instead of clobbering
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    // User relationship (never serialized: it is a lazy proxy and would expose the owner)
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -60,6 +96,14 @@ public class Task {
         this.createdOn = LocalDateTime.now();
     }
 
+    @PrePersist
+    @PreUpdate
+    void normalizeKeys() {
+        this.categoryKey = category != null ? category.toLowerCase(Locale.ROOT) : null;
+        this.priorityKey = priority != null ? priority.toLowerCase(Locale.ROOT) : null;
+        this.updatedOn = LocalDateTime.now();
+    }
+
     // --- Getters and Setters ---
     public Long getId() {
         return id;
@@ -133,6 +177,22 @@ public class Task {
         this.createdOn = createdOn;
     }
 
+    public LocalDateTime getUpdatedOn() {
+        return updatedOn;
+    }
+
+    public void setUpdatedOn(LocalDateTime updatedOn) {
+        this.updatedOn = updatedOn;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public User getUser() {
         return user;
     }
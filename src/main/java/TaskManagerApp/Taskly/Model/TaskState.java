@@ -0,0 +1,17 @@
+package TaskManagerApp.Taskly.Model;
+
+import java.time.LocalDate;
+
+/**
+ * The two task fields the per-user totals depend on (see UserTaskStats).
+ */
+public record TaskState(boolean completed, LocalDate dueDate) {
+
+    public static TaskState of(Task task) {
+        return new TaskState(task.isCompleted(), task.getDueDate());
+    }
+
+    public TaskState withCompleted(boolean completed) {
+        return new TaskState(completed, dueDate);
+    }
+}
@@ -0,0 +1,102 @@
+package TaskManagerApp.Taskly.Model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Read-only view of a task with just the columns the REST API and templates render.
+ * Built directly by JPQL constructor expressions, so list queries never hydrate
+ * Task entities or touch the lazy user association.
+ */
+public class TaskView {
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final String category;
+    private final String priority;
+    private final LocalDate dueDate;
+    private final LocalTime dueTime;
+    private final boolean completed;
+    private final LocalDateTime createdOn;
+    // Sent back on edits so a stale form or client is rejected instead of overwriting newer data
+    private final Long version;
+
+    public TaskView(Long id, String title, String description, String category, String priority,
+                    LocalDate dueDate, LocalTime dueTime, boolean completed, LocalDateTime createdOn,
+                    Long version) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.category = category;
+        this.priority = priority;
+        this.dueDate = dueDate;
+        this.dueTime = dueTime;
+        this.completed = completed;
+        this.createdOn = createdOn;
+        this.version = version;
+    }
+
+    // Copy of an entity that was loaded anyway (e.g. right after a save)
+    public static TaskView from(Task task) {
+        return new TaskView(task.getId(), task.getTitle(), task.getDescription(), task.getCategory(),
+                task.getPriority(), task.getDueDate(), task.getDueTime(), task.isCompleted(), task.getCreatedOn(),
+                task.getVersion());
+    }
+
+    // --- Getters ---
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public LocalTime getDueTime() {
+        return dueTime;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public LocalDateTime getCreatedOn() {
+        return createdOn;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    // --- Display strings for the templates (shared formatters, computed only for rendered cards) ---
+
+    @JsonIgnore
+    public String getDueDateText() {
+        return dueDate != null ? DisplayFormats.DATE.format(dueDate) : null;
+    }
+
+    @JsonIgnore
+    public String getCreatedOnText() {
+        return createdOn != null ? DisplayFormats.SHORT_DATE.format(createdOn) : null;
+    }
+}
@@ -8,6 +8,9 @@ import java.util.List;
 @Table(name = "users")
 public class User {
 
+    // Zone the daily summary used before per-user time zones existed
+    public static final String DEFAULT_TIME_ZONE = "Asia/Kolkata";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -21,6 +24,10 @@ public class User {
     @Column(nullable = false)
     private String password;
 
+    // IANA zone id; the daily summary is sent around 9 AM in this zone
+    @Column(name = "time_zone", nullable = false, length = 64)
+    private String timeZone = DEFAULT_TIME_ZONE;
+
     // One user can have many tasks
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Task> tasks;
@@ -60,6 +67,14 @@ public class User {
         this.password = password;
     }
 
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+
     public List<Task> getTasks() {
         return tasks;
     }
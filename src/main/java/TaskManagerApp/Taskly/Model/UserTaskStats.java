@@ -0,0 +1,133 @@
+package TaskManagerApp.Taskly.Model;
+
+import TaskManagerApp.Taskly.Repository.UserTaskSummary;
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Running completed / open / overdue totals of one user's tasks (db/migration/V8).
+ *
+ * Updated by deltas in the same transaction as each task write, so the daily summary
+ * reads one row instead of counting task rows. Overdue means open and due before
+ * statsDate, the user's local date the row was last rolled forward to.
+ */
+@Entity
+@Table(name = "user_task_stats")
+public class UserTaskStats implements UserTaskSummary, Persistable<Long> {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    @Column(name = "open_count", nullable = false)
+    private long openCount;
+
+    @Column(name = "overdue_count", nullable = false)
+    private long overdueCount;
+
+    @Column(name = "stats_date", nullable = false)
+    private LocalDate statsDate;
+
+    @Column(name = "updated_on", nullable = false)
+    private LocalDateTime updatedOn;
+
+    // The id is the user's, so without this save() would merge (SELECT first) instead of INSERT
+    @Transient
+    private boolean isNew;
+
+    public UserTaskStats() {
+    }
+
+    public UserTaskStats(Long userId, LocalDate statsDate) {
+        this.userId = userId;
+        this.statsDate = statsDate;
+        this.updatedOn = LocalDateTime.now();
+        this.isNew = true;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        isNew = false;
+    }
+
+    @Override
+    public Long getId() {
+        return userId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    /**
+     * Adds (sign 1) or removes (sign -1) one task in the given state.
+     */
+    public void add(TaskState state, int sign) {
+        if (state.completed()) {
+            completedCount += sign;
+        } else {
+            openCount += sign;
+            if (state.dueDate() != null && state.dueDate().isBefore(statsDate)) {
+                overdueCount += sign;
+            }
+        }
+        updatedOn = LocalDateTime.now();
+    }
+
+    /**
+     * Overwrites the totals (recount or repair).
+     */
+    public void reset(long completed, long overdue, long remaining, LocalDate statsDate) {
+        this.completedCount = completed;
+        this.openCount = overdue + remaining;
+        this.overdueCount = overdue;
+        this.statsDate = statsDate;
+        this.updatedOn = LocalDateTime.now();
+    }
+
+    public boolean matches(UserTaskSummary recount) {
+        return completedCount == recount.getCompleted() && overdueCount == recount.getOverdue()
+                && getRemaining() == recount.getRemaining();
+    }
+
+    // --- UserTaskSummary ---
+
+    @Override
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public long getCompleted() {
+        return completedCount;
+    }
+
+    @Override
+    public long getOverdue() {
+        return overdueCount;
+    }
+
+    @Override
+    public long getRemaining() {
+        return openCount - overdueCount;
+    }
+
+    public long getOpenCount() {
+        return openCount;
+    }
+
+    public LocalDate getStatsDate() {
+        return statsDate;
+    }
+
+    public LocalDateTime getUpdatedOn() {
+        return updatedOn;
+    }
+}
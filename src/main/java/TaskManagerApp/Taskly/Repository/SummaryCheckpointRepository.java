@@ -0,0 +1,7 @@
+package TaskManagerApp.Taskly.Repository;
+
+import TaskManagerApp.Taskly.Model.SummaryCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SummaryCheckpointRepository extends JpaRepository<SummaryCheckpoint, String> {
+}
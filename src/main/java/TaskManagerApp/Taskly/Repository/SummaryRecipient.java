@@ -0,0 +1,13 @@
+package TaskManagerApp.Taskly.Repository;
+
+/**
+ * Projection of the user columns the daily summary email needs.
+ */
+public interface SummaryRecipient {
+
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+}
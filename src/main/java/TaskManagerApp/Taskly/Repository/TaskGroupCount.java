@@ -0,0 +1,13 @@
+package TaskManagerApp.Taskly.Repository;
+
+/**
+ * Projection for one row of the per-user (priority, category) task count aggregate.
+ */
+public interface TaskGroupCount {
+
+    String getPriority();
+
+    String getCategory();
+
+    long getTotal();
+}
@@ -0,0 +1,23 @@
+package TaskManagerApp.Taskly.Repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Projection of a user's task-list version: how many tasks there are and when the latest
+ * write happened. Any create, edit or delete changes one of the two.
+ */
+public interface TaskListVersion {
+
+    long getTotal();
+
+    LocalDateTime getLastUpdated();
+
+    // Weak ETag of the list ("W/" also lets Tomcat gzip the response)
+    default String eTag() {
+        LocalDateTime lastUpdated = getLastUpdated();
+        long micros = lastUpdated == null ? 0
+                : lastUpdated.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastUpdated.getNano() / 1_000;
+        return "W/\"" + getTotal() + "-" + Long.toString(micros, 36) + "\"";
+    }
+}
@@ -1,32 +1,75 @@
 package TaskManagerApp.Taskly.Repository;
 
+import TaskManagerApp.Taskly.Model.LockedTask;
 import TaskManagerApp.Taskly.Model.Task;
+import TaskManagerApp.Taskly.Model.TaskState;
+import TaskManagerApp.Taskly.Model.TaskView;
 import TaskManagerApp.Taskly.Model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query; // Must be imported
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param; // Must be imported
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
-    // Get all tasks for a specific user
+    // Selects only the rendered columns into a TaskView (no entity hydration)
+    String TASK_VIEW = "SELECT new TaskManagerApp.Taskly.Model.TaskView(t.id, t.title, t.description, " +
+            "t.category, t.priority, t.dueDate, t.dueTime, t.completed, t.createdOn, t.version) FROM Task t ";
+
+    // Get all tasks for a specific user; loaded read-only (no dirty-checking snapshots)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Task> findByUser(User user);
 
+    // Keyset pagination: the next page of a user's tasks after the given id (cursor)
+    @Query(TASK_VIEW + "WHERE t.user = :user AND t.id > :afterId ORDER BY t.id ASC")
+    List<TaskView> findViewPageByUser(@Param("user") User user, @Param("afterId") Long afterId, Limit limit);
+
+    // Streams a user's tasks for NDJSON export; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(TASK_VIEW + "WHERE t.user = :user ORDER BY t.id ASC")
+    Stream<TaskView> streamByUser(@Param("user") User user);
+
+    @Query(TASK_VIEW + "WHERE t.id = :id AND t.user = :user")
+    Optional<TaskView> findViewByIdAndUser(@Param("id") Long id, @Param("user") User user);
+
+    // Search results: the index ranks the ids, this loads them (PK lookups scoped to the owner)
+    @Query(TASK_VIEW + "WHERE t.user = :user AND t.id IN :ids")
+    List<TaskView> findViewsByUserAndIdIn(@Param("user") User user, @Param("ids") Collection<Long> ids);
+
+    // Searchable text of a user's tasks, for building TaskSearchIndex
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description FROM Task t WHERE t.user.id = :userId")
+    List<TaskSearchDocument> findSearchDocumentsByUserId(@Param("userId") Long userId);
+
+    // Users whose search index is built at startup
+    @Query("SELECT DISTINCT t.user.id FROM Task t")
+    List<Long> findUserIdsWithTasks(Limit limit);
+
     // Filter tasks by priority for a user
    /* List<Task> findByUserAndPriority(User user, String priority);
 
     // Filter tasks by category for a user
     List<Task> findByUserAndCategory(User user, String category);*/
 
-    @Query("SELECT t FROM Task t WHERE t.user = :user AND LOWER(t.category) = LOWER(:category)")
-    List<Task> findByUserAndCategory(User user, String category);
+    // category_key/priority_key are stored lowercase, so only the parameter is lowered (index-friendly)
+    @Query(TASK_VIEW + "WHERE t.user = :user AND t.categoryKey = LOWER(:category)")
+    List<TaskView> findByUserAndCategory(User user, String category);
 
-    @Query("SELECT t FROM Task t WHERE t.user = :user AND LOWER(t.priority) = LOWER(:priority)")
-    List<Task> findByUserAndPriority(User user, String priority);
+    @Query(TASK_VIEW + "WHERE t.user = :user AND t.priorityKey = LOWER(:priority)")
+    List<TaskView> findByUserAndPriority(User user, String priority);
 
 
     // --- New Methods for Counting and Grouping ---
@@ -37,11 +80,44 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     // Counts tasks by category (for sidebar badges)
     long countByUserAndCategory(User user, String category);
 
+    // One GROUP BY round trip for every sidebar badge (see DashboardStatsService)
+    @Query("SELECT t.priority AS priority, t.category AS category, COUNT(t) AS total " +
+            "FROM Task t WHERE t.user = :user GROUP BY t.priority, t.category")
+    List<TaskGroupCount> countByUserGroupedByPriorityAndCategory(@Param("user") User user);
+
+    // Task-list version for the ETags of the list endpoints (index-only on user_id, updated_on)
+    @Query("SELECT COUNT(t) AS total, MAX(t.updatedOn) AS lastUpdated FROM Task t WHERE t.user = :user")
+    TaskListVersion findListVersionByUser(@Param("user") User user);
+
+    // Completed / overdue / remaining counts for a page of users in one GROUP BY (daily summary)
+    @Query("""
+    SELECT t.user.id AS userId,
+           SUM(CASE WHEN t.completed = true THEN 1 ELSE 0 END) AS completed,
+           SUM(CASE WHEN t.completed = false AND t.dueDate < :today THEN 1 ELSE 0 END) AS overdue,
+           SUM(CASE WHEN t.completed = false AND (t.dueDate IS NULL OR t.dueDate >= :today) THEN 1 ELSE 0 END) AS remaining
+    FROM Task t
+    WHERE t.user.id IN :userIds
+    GROUP BY t.user.id
+""")
+    List<UserTaskSummary> summarizeByUserIds(@Param("userIds") Collection<Long> userIds,
+                                             @Param("today") LocalDate today);
+
+    // Open tasks per user due in [from, today): what became overdue since the stats were dated
+    @Query("""
+    SELECT t.user.id AS userId, COUNT(t) AS total
+    FROM Task t
+    WHERE t.user.id IN :userIds AND t.completed = false AND t.dueDate >= :from AND t.dueDate < :today
+    GROUP BY t.user.id
+""")
+    List<UserTaskCount> countOpenDueBetweenByUserIds(@Param("userIds") Collection<Long> userIds,
+                                                     @Param("from") LocalDate from,
+                                                     @Param("today") LocalDate today);
+
     // Finds tasks due on a specific date (for 'Due Today' logic)
     /*List<Task> findByUserAndDueDate(User user, LocalDate dueDate);*/
     List<Task> findByUserAndDueDateLessThanEqual(User user, LocalDate date);
 
-    @Query("SELECT t FROM Task t WHERE t.user = :user AND t.dueDate = :today AND DATE(t.createdOn) < :today")
+    @Query("SELECT t FROM Task t WHERE t.user = :user AND t.dueDate = :today AND CAST(t.createdOn AS LocalDate) < :today")
     List<Task> findTasksDueTodayAndAddedBefore(@Param("user") User user, @Param("today") LocalDate today);
 
 
@@ -56,32 +132,84 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query(value = "SELECT t.* FROM tasks t WHERE t.user_id = :userId AND DATE(t.created_on) = :todayDate", nativeQuery = true)
     List<Task> findTasksAddedTodayNative(@Param("userId") Long userId, @Param("todayDate") LocalDate todayDate);
 
-    @Query("SELECT t FROM Task t WHERE t.user = :user AND t.completed = false AND t.dueDate < :today")
-    List<Task> findOverdueTasks(@Param("user") User user, @Param("today") LocalDate today);
-
+    @Query(TASK_VIEW + "WHERE t.user = :user AND t.completed = false AND t.dueDate < :today")
+    List<TaskView> findOverdueTasks(@Param("user") User user, @Param("today") LocalDate today);
 
+    // Owner-scoped primary-key lookup: WHERE id = ? AND user_id = ?, so another user's row never loads
     Optional<Task> findByIdAndUser(Long id, User user);
 
-    @Query("SELECT t FROM Task t WHERE t.user = :user AND t.createdOn BETWEEN :startOfDay AND :endOfDay ORDER BY t.createdOn DESC")
-    List<Task> findTasksCreatedToday(@Param("user") User user,
+    @Query(TASK_VIEW + "WHERE t.user = :user AND t.createdOn BETWEEN :startOfDay AND :endOfDay ORDER BY t.createdOn DESC")
+    List<TaskView> findTasksCreatedToday(@Param("user") User user,
                                      @Param("startOfDay") LocalDateTime startOfDay,
                                      @Param("endOfDay") LocalDateTime endOfDay);
 
     /*@Query("SELECT t FROM Task t WHERE t.user = :user AND t.dueDate = :today AND DATE(t.createdOn) < :today")
     List<Task> findTasksDueTodayOlder(@Param("user") User user, @Param("today") LocalDate today);*/
 
-    @Query("""
-    SELECT t FROM Task t 
-    WHERE t.user = :user 
-      AND t.dueDate = :today 
+    @Query(TASK_VIEW + """
+    WHERE t.user = :user
+      AND t.dueDate = :today
       AND t.createdOn < :startOfToday
     ORDER BY t.dueDate ASC
 """)
-    List<Task> findTasksDueTodayOlder(
+    List<TaskView> findTasksDueTodayOlder(
             @Param("user") User user,
             @Param("today") LocalDate today,
             @Param("startOfToday") LocalDateTime startOfToday);
 
-
-
+    // Completed/due state of the tasks a write is about to change, row-locked (SELECT ... FOR UPDATE)
+    // so the per-user totals get the true before-state (TaskStatsService). Two columns per row
+    // into a record: no entity is loaded, so nothing is snapshotted for dirty checking
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new TaskManagerApp.Taskly.Model.TaskState(t.completed, t.dueDate) FROM Task t " +
+            "WHERE t.user.id = :userId AND t.id IN :ids")
+    List<TaskState> findStatesByUserIdAndIdInForUpdate(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // Same for deletes, plus the priority/category the sidebar counts drop the rows from
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new TaskManagerApp.Taskly.Model.LockedTask(t.completed, t.dueDate, t.priority, t.category) " +
+            "FROM Task t WHERE t.user.id = :userId AND t.id IN :ids")
+    List<LockedTask> findLockedByUserIdAndIdInForUpdate(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // --- Bulk mutations (one owner-scoped statement per batch; ids of other users are ignored) ---
+    // updatedOn is passed in rather than CURRENT_TIMESTAMP so every write uses the same (JVM) clock
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.completed = :completed, t.version = t.version + 1, t.updatedOn = :now " +
+            "WHERE t.user = :user AND t.id IN :ids")
+    int updateCompletedByUserAndIdIn(@Param("user") User user,
+                                     @Param("ids") Collection<Long> ids,
+                                     @Param("completed") boolean completed,
+                                     @Param("now") LocalDateTime now);
+
+    // Bulk JPQL skips @PreUpdate and @Version, so priorityKey, version and updatedOn are set explicitly
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.priority = :priority, t.priorityKey = :priorityKey, t.version = t.version + 1, " +
+            "t.updatedOn = :now WHERE t.user = :user AND t.id IN :ids")
+    int updatePriorityByUserAndIdIn(@Param("user") User user,
+                                    @Param("ids") Collection<Long> ids,
+                                    @Param("priority") String priority,
+                                    @Param("priorityKey") String priorityKey,
+                                    @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.user = :user AND t.id IN :ids")
+    int deleteByUserAndIdIn(@Param("user") User user, @Param("ids") Collection<Long> ids);
+
+    // --- Single-task writes without loading the entity (toggle is the most frequent write) ---
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.completed = CASE WHEN t.completed = true THEN false ELSE true END, " +
+            "t.version = t.version + 1, t.updatedOn = :now WHERE t.id = :id AND t.user.id = :userId")
+    int toggleCompletedByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId,
+                                     @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.id = :id AND t.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 }
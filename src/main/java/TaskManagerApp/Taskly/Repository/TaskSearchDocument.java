@@ -0,0 +1,13 @@
+package TaskManagerApp.Taskly.Repository;
+
+/**
+ * Projection of the searchable text of one task (TaskSearchIndex).
+ */
+public interface TaskSearchDocument {
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+}
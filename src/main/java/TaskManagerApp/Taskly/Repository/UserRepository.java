@@ -1,7 +1,12 @@
 package TaskManagerApp.Taskly.Repository;
 
         import TaskManagerApp.Taskly.Model.User;
+        import org.springframework.data.domain.Limit;
         import org.springframework.data.jpa.repository.JpaRepository;
+        import org.springframework.data.jpa.repository.Query;
+        import org.springframework.data.repository.query.Param;
+        import java.util.Collection;
+        import java.util.List;
         import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -17,4 +22,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     // Check if email exists
     boolean existsByEmail(String email);
+
+    // Next page of summary recipients in one time zone after the given id (keyset pagination)
+    List<SummaryRecipient> findByTimeZoneAndIdGreaterThanOrderByIdAsc(String timeZone, Long afterId, Limit limit);
+
+    // Users left in a wave, to spread its pages over the jitter window (index-only on idx_users_time_zone)
+    long countByTimeZoneAndIdGreaterThan(String timeZone, Long afterId);
+
+    // Zones that currently have at least one user (one summary wave each)
+    @Query("SELECT DISTINCT u.timeZone FROM User u")
+    List<String> findDistinctTimeZones();
+
+    // Which of the given ids still belong to a user (one query instead of existsById per id)
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,11 @@
+package TaskManagerApp.Taskly.Repository;
+
+/**
+ * Projection of a per-user task count.
+ */
+public interface UserTaskCount {
+
+    Long getUserId();
+
+    long getTotal();
+}
@@ -0,0 +1,57 @@
+package TaskManagerApp.Taskly.Repository;
+
+import TaskManagerApp.Taskly.Model.UserTaskStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface UserTaskStatsRepository extends JpaRepository<UserTaskStats, Long> {
+
+    // Row lock for applying a write's delta (SELECT ... FOR UPDATE); callers run in a transaction
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserTaskStats s WHERE s.userId = :userId")
+    Optional<UserTaskStats> findByIdForUpdate(@Param("userId") Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserTaskStats s WHERE s.userId IN :userIds")
+    List<UserTaskStats> findAllByIdForUpdate(@Param("userIds") Collection<Long> userIds);
+
+    // Keyset pages for the reconciliation job
+    @Query("SELECT s.userId FROM UserTaskStats s WHERE s.userId > :afterId ORDER BY s.userId ASC")
+    List<Long> findUserIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // --- Midnight roll-forward (TaskStatsService.rollForwardRows) ---
+
+    // Keyset pages of a zone's rows still dated before its local "today"
+    @Query("""
+    SELECT s.userId FROM UserTaskStats s, User u
+    WHERE u.id = s.userId AND u.timeZone = :timeZone AND s.statsDate < :today AND s.userId > :afterId
+    ORDER BY s.userId ASC
+""")
+    List<Long> findUserIdsToRollForward(@Param("timeZone") String timeZone,
+                                        @Param("today") LocalDate today,
+                                        @Param("afterId") Long afterId,
+                                        Limit limit);
+
+    // One UPDATE for all rows of a page that gain the same number of overdue tasks
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+    UPDATE UserTaskStats s
+    SET s.overdueCount = s.overdueCount + :newlyOverdue, s.statsDate = :today, s.updatedOn = :now
+    WHERE s.userId IN :userIds
+""")
+    int rollForward(@Param("userIds") Collection<Long> userIds,
+                    @Param("newlyOverdue") long newlyOverdue,
+                    @Param("today") LocalDate today,
+                    @Param("now") LocalDateTime now);
+}
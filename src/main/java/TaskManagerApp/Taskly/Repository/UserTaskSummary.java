@@ -0,0 +1,15 @@
+package TaskManagerApp.Taskly.Repository;
+
+/**
+ * Projection of one user's completed / overdue / remaining task counts.
+ */
+public interface UserTaskSummary {
+
+    Long getUserId();
+
+    long getCompleted();
+
+    long getOverdue();
+
+    long getRemaining();
+}
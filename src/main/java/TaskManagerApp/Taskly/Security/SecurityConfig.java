@@ -1,15 +1,26 @@
 package TaskManagerApp.Taskly.Config;
 
         import TaskManagerApp.Taskly.Service.UserService;
+        import org.springframework.beans.factory.annotation.Value;
+        import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+        import org.springframework.boot.actuate.health.HealthEndpoint;
         import org.springframework.context.annotation.Bean;
         import org.springframework.context.annotation.Configuration;
+        import org.springframework.core.annotation.Order;
         import org.springframework.security.authentication.AuthenticationManager;
+        import org.springframework.security.authentication.ProviderManager;
+        import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
         import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
         import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+        import org.springframework.security.config.http.SessionCreationPolicy;
+        import org.springframework.security.core.userdetails.User;
         import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
         import org.springframework.security.crypto.password.PasswordEncoder;
         import org.springframework.security.web.SecurityFilterChain;
         import org.springframework.security.core.userdetails.UserDetailsService;
+        import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+        import static org.springframework.security.config.Customizer.withDefaults;
 
 @Configuration
 public class SecurityConfig {
@@ -34,6 +45,36 @@ public class SecurityConfig {
                 .build();
     }
 
+    /**
+     * Actuator endpoints. Health stays open for liveness probes. Everything else, including
+     * the Prometheus scrape, needs HTTP Basic as the scrape account (taskly.metrics.*),
+     * which is separate from app users. Without a configured password, nobody can read them.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http, PasswordEncoder passwordEncoder,
+                                                   @Value("${taskly.metrics.username:prometheus}") String username,
+                                                   @Value("${taskly.metrics.password:}") String password) throws Exception {
+        InMemoryUserDetailsManager scrapeUsers = new InMemoryUserDetailsManager();
+        if (!password.isBlank()) {
+            scrapeUsers.createUser(User.withUsername(username).password(passwordEncoder.encode(password))
+                    .roles("METRICS").build());
+        }
+        DaoAuthenticationProvider scrapeAuth = new DaoAuthenticationProvider(scrapeUsers);
+        scrapeAuth.setPasswordEncoder(passwordEncoder);
+
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .authenticationManager(new ProviderManager(scrapeAuth))
+                .authorizeHttpRequests(requests -> requests
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .anyRequest().hasRole("METRICS"))
+                .httpBasic(withDefaults())
+                .sessionManagement(sessions -> sessions.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -1,46 +1,272 @@
 package TaskManagerApp.Taskly.Service;
 
-        import TaskManagerApp.Taskly.Model.Task;
-        import TaskManagerApp.Taskly.Model.User;
-        import TaskManagerApp.Taskly.Repository.TaskRepository;
+        import TaskManagerApp.Taskly.Model.SummaryCheckpoint;
+        import TaskManagerApp.Taskly.Repository.SummaryCheckpointRepository;
+        import TaskManagerApp.Taskly.Repository.SummaryRecipient;
         import TaskManagerApp.Taskly.Repository.UserRepository;
+        import TaskManagerApp.Taskly.Repository.UserTaskSummary;
+        import jakarta.annotation.PostConstruct;
+        import jakarta.annotation.PreDestroy;
+        import org.slf4j.Logger;
+        import org.slf4j.LoggerFactory;
         import org.springframework.beans.factory.annotation.Autowired;
+        import org.springframework.beans.factory.annotation.Value;
+        import org.springframework.data.domain.Limit;
         import org.springframework.scheduling.annotation.Scheduled;
         import org.springframework.stereotype.Service;
 
+        import java.time.DateTimeException;
+        import java.time.Duration;
+        import java.time.Instant;
         import java.time.LocalDate;
+        import java.time.LocalTime;
+        import java.time.ZoneId;
+        import java.time.ZonedDateTime;
+        import java.util.Arrays;
         import java.util.List;
+        import java.util.Map;
+        import java.util.Set;
+        import java.util.TreeMap;
+        import java.util.concurrent.CompletableFuture;
+        import java.util.concurrent.locks.ReentrantLock;
+        import java.util.concurrent.ConcurrentHashMap;
+        import java.util.concurrent.Executors;
+        import java.util.concurrent.ScheduledExecutorService;
+        import java.util.concurrent.ThreadLocalRandom;
+        import java.util.concurrent.TimeUnit;
+        import java.util.concurrent.atomic.AtomicInteger;
+        import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class DailySummaryScheduler {
 
-    @Autowired
-    private TaskRepository taskRepository;
+    private static final Logger log = LoggerFactory.getLogger(DailySummaryScheduler.class);
+
+    private static final String JOB_NAME = "daily-summary";
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private SummaryCheckpointRepository checkpointRepository;
+
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private SqlStatementCounter statementCounter;
+
+    // Users per page: one keyset query for recipients plus one stats read for their counts
+    @Value("${taskly.summary.page-size:500}")
+    private int pageSize;
+
+    // Pages processed concurrently
+    @Value("${taskly.summary.parallelism:4}")
+    private int parallelism;
+
+    // Each wave's pages are spread randomly over this much time after the wave starts
+    @Value("${taskly.summary.jitter:10m}")
+    private Duration jitter;
+
+    // How long after local 9 AM a missed wave (e.g. after a restart) is still sent
+    @Value("${taskly.summary.catch-up:3h}")
+    private Duration catchUp;
+
+    private static final LocalTime SEND_AT = LocalTime.of(9, 0);
+
+    // Waves currently in flight, so the next tick does not start them twice
+    private final Set<String> runningWaves = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService pagePool;
+
+    @PostConstruct
+    void startPagePool() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        pagePool = Executors.newScheduledThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "taskly-summary-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stopPagePool() {
+        pagePool.shutdownNow();
+    }
+
+    /**
+     * Runs every 15 minutes (the finest offset any time zone uses) and starts a wave
+     * for each user time zone where it is now 9 AM or a little later.
+     *
+     * Instead of one 9 AM IST burst for everybody, each zone gets its own smaller wave
+     * at its local 9 AM, and each wave's pages are jittered across taskly.summary.jitter.
+     * A wave that was missed (app down at 9 AM) is still sent within the catch-up window.
+     */
+    @Scheduled(cron = "0 */15 * * * *", zone = "UTC")
+    public void sendDueSummaries() {
+        Instant now = Instant.now();
+
+        for (String zoneName : userRepository.findDistinctTimeZones()) {
+            ZonedDateTime localNow;
+            try {
+                localNow = now.atZone(ZoneId.of(zoneName));
+            } catch (DateTimeException e) {
+                log.warn("❌ Skipping daily summary for unknown time zone: {}", zoneName);
+                continue;
+            }
+
+            LocalTime localTime = localNow.toLocalTime();
+            boolean inWindow = !localTime.isBefore(SEND_AT)
+                    && Duration.between(SEND_AT, localTime).compareTo(catchUp) < 0;
+            if (inWindow) {
+                runWave(zoneName, localNow.toLocalDate());
+            }
+        }
+    }
+
     /**
-     * Scheduled to run every morning at 9:00 AM (IST)
+     * Sends the summary to every user in one time zone for the given local date.
+     *
+     * Users are read in id-ordered pages and each page's counts come from a single
+     * stats read, so no task rows are loaded. The pages are spread over sorted random
+     * slots within the jitter window; each page is read (keyset from the previous page)
+     * only when its slot comes up and sent on the bounded pool, so at most one page per
+     * pool thread is on the heap however many users the zone has. Progress is
+     * checkpointed per wave so a restart resumes after the last fully processed page
+     * instead of emailing everyone again.
+     *
+     * @return completes once every page of the wave has been handled
      */
-    @Scheduled(cron = "0 0 9 * * *", zone = "Asia/Kolkata")
-    public void sendDailySummaryReport() {
-        LocalDate today = LocalDate.now();
-        List<User> users = userRepository.findAll();
-
-        for (User user : users) {
-            List<Task> userTasks = taskRepository.findByUser(user);
-
-            long completedCount = userTasks.stream().filter(Task::isCompleted).count();
-            long overdueCount = userTasks.stream()
-                    .filter(t -> !t.isCompleted() && t.getDueDate() != null && t.getDueDate().isBefore(today))
-                    .count();
-            long remainingCount = userTasks.stream()
-                    .filter(t -> !t.isCompleted() && (t.getDueDate() == null || !t.getDueDate().isBefore(today)))
-                    .count();
+    public CompletableFuture<Void> runWave(String timeZone, LocalDate localDate) {
+        String jobKey = JOB_NAME + ":" + localDate + ":" + timeZone;
+        if (!runningWaves.add(jobKey)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        try {
+            SummaryCheckpoint checkpoint = checkpointRepository.findById(jobKey)
+                    .orElseGet(() -> new SummaryCheckpoint(jobKey));
+            if (checkpoint.isCompleted()) {
+                runningWaves.remove(jobKey);
+                return CompletableFuture.completedFuture(null);
+            }
+
+            // Only the page count is needed up front, to lay out the jitter slots
+            long remaining = userRepository.countByTimeZoneAndIdGreaterThan(timeZone, checkpoint.getLastUserId());
+            Wave wave = new Wave(timeZone, localDate, new Progress(checkpoint),
+                    pageDelays((int) ((remaining + pageSize - 1) / pageSize)));
+            wave.readPage(0, checkpoint.getLastUserId());
+
+            return wave.done.whenComplete((ignored, error) -> {
+                try {
+                    if (wave.progress.hasFailed()) {
+                        log.error("❌ Daily summary wave {} stopped early; will resume after user {}",
+                                jobKey, checkpoint.getLastUserId());
+                    } else {
+                        wave.progress.complete();
+                        log.info("✅ Daily summary wave {} sent to {} users.", jobKey, wave.recipients.get());
+                    }
+                } finally {
+                    runningWaves.remove(jobKey);
+                }
+            });
+        } catch (RuntimeException e) {
+            runningWaves.remove(jobKey);
+            throw e;
+        }
+    }
+
+    /**
+     * One wave's page chain. Reading page i schedules the read of page i+1 at its own slot
+     * before sending page i, so reads stay in keyset order while sends overlap on the pool.
+     */
+    private final class Wave {
+
+        private final String timeZone;
+        private final LocalDate localDate;
+        private final Progress progress;
+        private final long[] delays;
+        private final long startNanos = System.nanoTime();
+        private final AtomicInteger pendingPages = new AtomicInteger(1); // the first read
+        private final AtomicLong recipients = new AtomicLong();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Wave(String timeZone, LocalDate localDate, Progress progress, long[] delays) {
+            this.timeZone = timeZone;
+            this.localDate = localDate;
+            this.progress = progress;
+            this.delays = delays;
+        }
+
+        void readPage(int index, long afterId) {
+            // Pages beyond the initial count (users who registered since) go out right away
+            long slot = index < delays.length ? delays[index] : 0;
+            long wait = Math.max(0, slot - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            pagePool.schedule(() -> processPage(index, afterId), wait, TimeUnit.MILLISECONDS);
+        }
+
+        // Every scheduled read holds one pendingPages count and releases it exactly once, here
+        private void processPage(int index, long afterId) {
+            // Constant per page whatever its size; growth here means a per-user query crept in
+            try (SqlStatementCounter.Scope ignored = statementCounter.open("job daily-summary.page")) {
+                List<SummaryRecipient> page = progress.hasFailed() ? List.of()
+                        : userRepository.findByTimeZoneAndIdGreaterThanOrderByIdAsc(timeZone, afterId, Limit.of(pageSize));
+                if (page.isEmpty()) {
+                    return; // end of the read chain
+                }
+                long lastUserId = page.get(page.size() - 1).getId();
+                pendingPages.incrementAndGet();
+                try {
+                    readPage(index + 1, lastUserId);
+                } catch (RuntimeException e) {
+                    pageFinished(); // the next read never got scheduled
+                    throw e;
+                }
+
+                sendPage(page, localDate);
+                recipients.addAndGet(page.size());
+                progress.pageDone(index, lastUserId);
+            } catch (RuntimeException e) {
+                progress.pageFailed(e);
+            } finally {
+                pageFinished();
+            }
+        }
+
+        private void pageFinished() {
+            if (pendingPages.decrementAndGet() == 0) {
+                done.complete(null);
+            }
+        }
+    }
+
+    // Random start offsets within the jitter window, sorted so pages still finish roughly in id order
+    private long[] pageDelays(int pageCount) {
+        long[] delays = new long[pageCount];
+        long window = jitter.toMillis();
+        for (int i = 0; i < pageCount; i++) {
+            delays[i] = window > 0 ? ThreadLocalRandom.current().nextLong(window) : 0;
+        }
+        Arrays.sort(delays);
+        return delays;
+    }
+
+    private void sendPage(List<SummaryRecipient> page, LocalDate today) {
+        List<Long> userIds = page.stream().map(SummaryRecipient::getId).toList();
+        // One user_task_stats row per user instead of a GROUP BY over their tasks
+        Map<Long, UserTaskSummary> summaries = taskStatsService.summarize(userIds, today);
+
+        for (SummaryRecipient recipient : page) {
+            if (recipient.getEmail() == null || recipient.getEmail().isBlank()) {
+                continue;
+            }
+            UserTaskSummary summary = summaries.get(recipient.getId());
+            long completedCount = summary != null ? summary.getCompleted() : 0;
+            long overdueCount = summary != null ? summary.getOverdue() : 0;
+            long remainingCount = summary != null ? summary.getRemaining() : 0;
 
             String subject = "📊 Your Daily Task Summary - " + today;
             String body = String.format("""
@@ -55,12 +281,66 @@ public class DailySummaryScheduler {
                     Stay productive and crush your goals today 💪
                     — Your Taskly Assistant
                     """,
-                    user.getUsername(), today, completedCount, remainingCount, overdueCount);
+                    recipient.getUsername(), today, completedCount, remainingCount, overdueCount);
 
             // Send the email
-            emailService.sendEmail(user.getEmail(), subject, body);
+            emailService.sendEmail(recipient.getEmail(), subject, body);
+        }
+    }
+
+    /**
+     * Tracks finished pages and advances the checkpoint only over a contiguous prefix,
+     * since pages complete out of order on the pool.
+     * Guarded by a ReentrantLock rather than synchronized because the checkpoint is saved
+     * (JDBC) while holding it, which would pin the carrier if this ran on a virtual thread.
+     */
+    private final class Progress {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final SummaryCheckpoint checkpoint;
+        private final Map<Integer, Long> finishedPages = new TreeMap<>();
+        private int nextPage = 0;
+        private volatile boolean failed;
+
+        Progress(SummaryCheckpoint checkpoint) {
+            this.checkpoint = checkpoint;
+        }
+
+        void pageDone(int index, long lastUserId) {
+            lock.lock();
+            try {
+                finishedPages.put(index, lastUserId);
+                boolean advanced = false;
+                while (finishedPages.containsKey(nextPage)) {
+                    checkpoint.setLastUserId(finishedPages.remove(nextPage));
+                    nextPage++;
+                    advanced = true;
+                }
+                if (advanced) {
+                    checkpointRepository.save(checkpoint);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void pageFailed(Exception e) {
+            failed = true;
+            log.error("❌ Daily summary page failed: {}", e.getMessage(), e);
+        }
+
+        boolean hasFailed() {
+            return failed;
         }
 
-        System.out.println("✅ Daily summary emails sent successfully at 9 AM.");
+        void complete() {
+            lock.lock();
+            try {
+                checkpoint.setCompleted(true);
+                checkpointRepository.save(checkpoint);
+            } finally {
+                lock.unlock();
+            }
+        }
     }
 }
@@ -0,0 +1,32 @@
+package TaskManagerApp.Taskly.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sidebar badge counts for a single user, keyed case-insensitively by priority and category.
+ */
+public record DashboardStats(Map<String, Long> priorityCounts, Map<String, Long> categoryCounts) {
+
+    public long priorityCount(String priority) {
+        return priorityCounts.getOrDefault(priority, 0L);
+    }
+
+    public long categoryCount(String category) {
+        return categoryCounts.getOrDefault(category, 0L);
+    }
+
+    /**
+     * Categories that have no dedicated sidebar entry (anything besides Work and Personal).
+     */
+    public Map<String, Long> otherCategoryCounts() {
+        Map<String, Long> others = new LinkedHashMap<>();
+        categoryCounts.forEach((category, count) -> {
+            if (!category.equalsIgnoreCase("Work") && !category.equalsIgnoreCase("Personal")) {
+                others.put(category, count);
+            }
+        });
+        return Collections.unmodifiableMap(others);
+    }
+}
@@ -0,0 +1,210 @@
+package TaskManagerApp.Taskly.Service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * In-process, per-user cache of sidebar counters.
+ *
+ * Entries are loaded once from the aggregate query and then kept current by applying
+ * the deltas reported by TaskService on every write, so a /home reload after a toggle
+ * or edit does not go back to MySQL. The map is bounded (least recently used user is
+ * evicted first) and every entry expires after the configured TTL as a safety net
+ * against drift. Set taskly.dashboard-cache.enabled=false to always read DB truth.
+ */
+@Component
+public class DashboardStatsCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final int maxUsers;
+    private final long ttlNanos;
+
+    private final Map<Long, Entry> entries;
+
+    // Bumped on every write so a load that raced with a write is not cached
+    private final AtomicLong writeSequence = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public DashboardStatsCache(@Value("${taskly.dashboard-cache.enabled:true}") boolean enabled,
+                               @Value("${taskly.dashboard-cache.max-users:10000}") int maxUsers,
+                               @Value("${taskly.dashboard-cache.ttl:10m}") Duration ttl) {
+        this.enabled = enabled;
+        this.maxUsers = maxUsers;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > DashboardStatsCache.this.maxUsers) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached counters for the user, calling the loader on a miss or expiry.
+     */
+    public DashboardStats get(Long userId, Supplier<DashboardStats> loader) {
+        if (!enabled || userId == null) {
+            return loader.get();
+        }
+
+        synchronized (this) {
+            Entry entry = entries.get(userId);
+            if (entry != null && !entry.isExpired(System.nanoTime(), ttlNanos)) {
+                hits.incrementAndGet();
+                return entry.snapshot();
+            }
+            if (entry != null) {
+                entries.remove(userId);
+            }
+        }
+
+        misses.incrementAndGet();
+        long sequenceBeforeLoad = writeSequence.get();
+        DashboardStats loaded = loader.get();
+
+        synchronized (this) {
+            if (writeSequence.get() == sequenceBeforeLoad) {
+                entries.put(userId, new Entry(loaded, System.nanoTime()));
+            }
+        }
+        return loaded;
+    }
+
+    // --- Write-through updates from TaskService ---
+
+    public void recordCreated(Long userId, String priority, String category) {
+        apply(userId, entry -> entry.add(priority, category, 1));
+    }
+
+    public void recordDeleted(Long userId, String priority, String category) {
+        apply(userId, entry -> entry.add(priority, category, -1));
+    }
+
+    public void recordChanged(Long userId, String oldPriority, String oldCategory,
+                              String newPriority, String newCategory) {
+        apply(userId, entry -> {
+            entry.add(oldPriority, oldCategory, -1);
+            entry.add(newPriority, newCategory, 1);
+        });
+    }
+
+    /**
+     * Drops the user's entry when the exact delta of a write is unknown.
+     */
+    public void invalidate(Long userId) {
+        writeSequence.incrementAndGet();
+        synchronized (this) {
+            entries.remove(userId);
+        }
+    }
+
+    private void apply(Long userId, Consumer<Entry> delta) {
+        writeSequence.incrementAndGet();
+        if (!enabled || userId == null) {
+            return;
+        }
+        synchronized (this) {
+            Entry entry = entries.get(userId);
+            if (entry != null) {
+                delta.accept(entry);
+            }
+        }
+    }
+
+    // --- Metrics ---
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Same names as Micrometer's cache binders (cache.gets / cache.evictions / cache.size)
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, AtomicLong::get)
+                .tags("cache", "dashboard-stats", "result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", misses, AtomicLong::get)
+                .tags("cache", "dashboard-stats", "result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, AtomicLong::get)
+                .tag("cache", "dashboard-stats").register(registry);
+        Gauge.builder("cache.size", this, DashboardStatsCache::size)
+                .tag("cache", "dashboard-stats").register(registry);
+    }
+
+    private static final class Entry {
+
+        private final Map<String, Long> priorityCounts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private final Map<String, Long> categoryCounts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private final long loadedAt;
+
+        Entry(DashboardStats stats, long loadedAt) {
+            this.priorityCounts.putAll(stats.priorityCounts());
+            this.categoryCounts.putAll(stats.categoryCounts());
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isExpired(long now, long ttlNanos) {
+            return now - loadedAt > ttlNanos;
+        }
+
+        void add(String priority, String category, long delta) {
+            adjust(priorityCounts, priority, delta);
+            adjust(categoryCounts, category, delta);
+        }
+
+        private static void adjust(Map<String, Long> counts, String key, long delta) {
+            if (key == null || key.isBlank()) {
+                return;
+            }
+            long updated = counts.getOrDefault(key, 0L) + delta;
+            if (updated > 0) {
+                counts.put(key, updated);
+            } else {
+                counts.remove(key);
+            }
+        }
+
+        DashboardStats snapshot() {
+            Map<String, Long> priorities = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            Map<String, Long> categories = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            priorities.putAll(priorityCounts);
+            categories.putAll(categoryCounts);
+            return new DashboardStats(Collections.unmodifiableMap(priorities), Collections.unmodifiableMap(categories));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package TaskManagerApp.Taskly.Service;
+
+import TaskManagerApp.Taskly.Model.User;
+import TaskManagerApp.Taskly.Repository.TaskGroupCount;
+import TaskManagerApp.Taskly.Repository.TaskRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class DashboardStatsService {
+
+    private final TaskRepository taskRepository;
+    private final DashboardStatsCache dashboardStatsCache;
+    // Only the cache miss opens a (read-only) transaction; hits never touch the pool
+    private final TransactionTemplate readOnly;
+
+    public DashboardStatsService(TaskRepository taskRepository, DashboardStatsCache dashboardStatsCache,
+                                 PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.dashboardStatsCache = dashboardStatsCache;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    /**
+     * Returns the user's sidebar counts, served from the per-user counter cache when warm.
+     */
+    public DashboardStats getStats(User user) {
+        return dashboardStatsCache.get(user.getId(), () -> loadStats(user));
+    }
+
+    /**
+     * Builds every sidebar count for the user from a single GROUP BY query
+     * instead of one COUNT query per badge.
+     */
+    public DashboardStats loadStats(User user) {
+        // Case-insensitive keys so "high" and "High" land in the same badge, like MySQL's default collation
+        Map<String, Long> priorityCounts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Map<String, Long> categoryCounts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        List<TaskGroupCount> rows = readOnly.execute(status -> taskRepository.countByUserGroupedByPriorityAndCategory(user));
+        for (TaskGroupCount row : rows) {
+            if (row.getPriority() != null && !row.getPriority().isBlank()) {
+                priorityCounts.merge(row.getPriority(), row.getTotal(), Long::sum);
+            }
+            if (row.getCategory() != null && !row.getCategory().isBlank()) {
+                categoryCounts.merge(row.getCategory(), row.getTotal(), Long::sum);
+            }
+        }
+
+        return new DashboardStats(priorityCounts, categoryCounts);
+    }
+}
@@ -0,0 +1,223 @@
+package TaskManagerApp.Taskly.Service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded outbox for outgoing mail, drained by a small dedicated worker pool.
+ *
+ * Each worker takes up to batchSize messages at a time and hands them to
+ * JavaMailSender.send(SimpleMailMessage...) in one call, which delivers the whole
+ * batch over a single SMTP connection (one STARTTLS handshake per batch instead of
+ * per message). When the queue is full, enqueue blocks for offerTimeout and then
+ * rejects, pushing back on bursts like the daily summary job.
+ */
+@Component
+public class EmailDeliveryQueue implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailDeliveryQueue.class);
+
+    private final JavaMailSender mailSender;
+    private final BlockingQueue<SimpleMailMessage> queue;
+    private final int workers;
+    private final int batchSize;
+    private final Duration offerTimeout;
+
+    private ExecutorService workerPool;
+    private volatile boolean running;
+
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong totalSendNanos = new AtomicLong();
+    private final AtomicLong lastBatchNanos = new AtomicLong();
+
+    // Histograms; null until bound to a registry (e.g. when constructed directly in tests)
+    private volatile Timer batchLatency;
+    private volatile DistributionSummary batchSizes;
+
+    public EmailDeliveryQueue(JavaMailSender mailSender,
+                              @Value("${taskly.mail.queue-capacity:1000}") int capacity,
+                              @Value("${taskly.mail.workers:2}") int workers,
+                              @Value("${taskly.mail.batch-size:50}") int batchSize,
+                              @Value("${taskly.mail.offer-timeout:5s}") Duration offerTimeout) {
+        this.mailSender = mailSender;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+    }
+
+    @PostConstruct
+    public void start() {
+        // Always platform threads, even with spring.threads.virtual.enabled: JavaMail's SMTPTransport
+        // holds monitors around socket I/O, which would pin virtual threads to their carriers
+        AtomicInteger threadIndex = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "taskly-mail-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            workerPool.submit(this::drainLoop);
+        }
+    }
+
+    /**
+     * Stops accepting work, lets the workers flush what is already queued, then shuts down.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        workerPool.shutdown();
+        if (!workerPool.awaitTermination(30, TimeUnit.SECONDS)) {
+            workerPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Queues a message for delivery.
+     *
+     * @throws MailSendException if the queue stays full for longer than the offer timeout
+     */
+    public void enqueue(SimpleMailMessage message) {
+        if (!running) {
+            throw new MailSendException("Email delivery queue is not running");
+        }
+        try {
+            if (!queue.offer(message, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                rejectedCount.incrementAndGet();
+                throw new MailSendException("Email delivery queue is full (" + queue.size() + " pending)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while queueing email", e);
+        }
+    }
+
+    private void drainLoop() {
+        List<SimpleMailMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                SimpleMailMessage first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(List<SimpleMailMessage> batch) {
+        long start = System.nanoTime();
+        try {
+            mailSender.send(batch.toArray(new SimpleMailMessage[0]));
+            sentCount.addAndGet(batch.size());
+        } catch (MailSendException e) {
+            // Partial failure: the sender reports exactly which messages did not go out
+            int failed = e.getFailedMessages().isEmpty() ? batch.size() : e.getFailedMessages().size();
+            failedCount.addAndGet(failed);
+            sentCount.addAndGet(batch.size() - failed);
+            log.error("❌ Failed to deliver {} of {} emails: {}", failed, batch.size(), e.getMessage());
+        } catch (MailException e) {
+            failedCount.addAndGet(batch.size());
+            log.error("❌ Failed to deliver batch of {} emails: {}", batch.size(), e.getMessage());
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            lastBatchNanos.set(elapsed);
+            totalSendNanos.addAndGet(elapsed);
+            batchCount.incrementAndGet();
+            if (batchLatency != null) {
+                batchLatency.record(elapsed, TimeUnit.NANOSECONDS);
+                batchSizes.record(batch.size());
+            }
+        }
+    }
+
+    // --- Metrics ---
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("taskly.mail.queue.depth", queue, BlockingQueue::size)
+                .description("Messages waiting for a mail worker").register(registry);
+        Gauge.builder("taskly.mail.queue.remaining", queue, BlockingQueue::remainingCapacity)
+                .description("Free slots before enqueue starts blocking").register(registry);
+        FunctionCounter.builder("taskly.mail.messages", sentCount, AtomicLong::get)
+                .tag("result", "sent").register(registry);
+        FunctionCounter.builder("taskly.mail.messages", failedCount, AtomicLong::get)
+                .tag("result", "failed").register(registry);
+        FunctionCounter.builder("taskly.mail.messages", rejectedCount, AtomicLong::get)
+                .tag("result", "rejected").register(registry);
+        batchSizes = DistributionSummary.builder("taskly.mail.batch.size")
+                .description("Messages per SMTP connection").publishPercentileHistogram().register(registry);
+        batchLatency = Timer.builder("taskly.mail.batch.latency")
+                .description("Time to deliver one batch over SMTP").publishPercentileHistogram().register(registry);
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getRemainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    public Duration getLastBatchLatency() {
+        return Duration.ofNanos(lastBatchNanos.get());
+    }
+
+    public Duration getAverageBatchLatency() {
+        long batches = batchCount.get();
+        return batches == 0 ? Duration.ZERO : Duration.ofNanos(totalSendNanos.get() / batches);
+    }
+}
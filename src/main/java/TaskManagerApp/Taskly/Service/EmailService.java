@@ -1,34 +1,33 @@
 package TaskManagerApp.Taskly.Service;
 
         import org.springframework.mail.SimpleMailMessage;
-        import org.springframework.mail.javamail.JavaMailSender;
-        import org.springframework.scheduling.annotation.Async;
         import org.springframework.stereotype.Service;
 
 @Service
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final EmailDeliveryQueue deliveryQueue;
 
     // Constructor injection
-    public EmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailService(EmailDeliveryQueue deliveryQueue) {
+        this.deliveryQueue = deliveryQueue;
     }
 
     /**
-     * Send a simple email
+     * Send a simple email.
+     * The message is queued and delivered in batches by EmailDeliveryQueue; this
+     * returns immediately unless the queue is full.
      *
      * @param to      recipient email
      * @param subject email subject
      * @param body    email body
      */
-    @Async
     public void sendEmail(String to, String subject, String body) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setTo(to);
         message.setSubject(subject);
         message.setText(body);
 
-        mailSender.send(message);
+        deliveryQueue.enqueue(message);
     }
 }
@@ -0,0 +1,12 @@
+package TaskManagerApp.Taskly.Service;
+
+/**
+ * Thrown by TaskImportService when an import has more rows than taskly.import.max-lines;
+ * the import endpoint answers 413.
+ */
+public class ImportTooLargeException extends RuntimeException {
+
+    public ImportTooLargeException(int maxLines) {
+        super("Import is limited to " + maxLines + " lines");
+    }
+}
@@ -3,25 +3,54 @@ package TaskManagerApp.Taskly.Service;
         import org.springframework.stereotype.Service;
 
         import java.time.*;
-        import java.time.format.DateTimeFormatter;
-        import java.util.Locale;
-        import java.util.regex.Matcher;
-        import java.util.regex.Pattern;
 
 @Service
 public class NLPService {
 
-    // Regex pattern for time like "5pm", "10:30 am", etc.
-    private static final Pattern TIME_PATTERN = Pattern.compile(
-            "(\\d{1,2})(?::(\\d{2}))?\\s?(am|pm)?",
-            Pattern.CASE_INSENSITIVE
-    );
+    // Connector words dropped when they introduce a date or time ("by friday", "at 5pm")
+    private static final KeywordTrie<Boolean> CONNECTORS = new KeywordTrie<>();
 
-    // Regex for days like "Monday", "next Friday"
-    private static final Pattern DAY_PATTERN = Pattern.compile(
-            "(today|tomorrow|next\\s+\\w+|\\w+day)",
-            Pattern.CASE_INSENSITIVE
-    );
+    // "today", "tomorrow" -> day offset; weekday names -> DayOfWeek
+    private static final KeywordTrie<Object> DATE_WORDS = new KeywordTrie<>();
+
+    // Keyword prefixes ("meeting" also matches "meetings") -> category rank, lower rank wins
+    private static final KeywordTrie<Integer> CATEGORY_WORDS = new KeywordTrie<>();
+    private static final String[] CATEGORIES = {"Work", "Finance", "Health", "Study"};
+    private static final String DEFAULT_CATEGORY = "Personal";
+
+    static {
+        for (String connector : new String[]{"by", "at", "on", "after", "in"}) {
+            CONNECTORS.put(connector, Boolean.TRUE);
+        }
+
+        DATE_WORDS.put("today", 0);
+        DATE_WORDS.put("tomorrow", 1);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            DATE_WORDS.put(day.name().toLowerCase(), day);
+        }
+
+        String[][] keywords = {
+                {"project", "meeting", "work"},
+                {"bill", "payment", "budget"},
+                {"doctor", "gym", "health"},
+                {"study", "assignment"}
+        };
+        for (int rank = 0; rank < keywords.length; rank++) {
+            for (String keyword : keywords[rank]) {
+                CATEGORY_WORDS.put(keyword, rank);
+            }
+        }
+    }
+
+    private final Clock clock;
+
+    public NLPService() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public NLPService(Clock clock) {
+        this.clock = clock;
+    }
 
     /**
      * Parses a user's natural task input and extracts title, due date, and time.
@@ -29,121 +58,252 @@ public class NLPService {
      * Examples:
      *  - "Submit report tomorrow 5pm"
      *  - "Meeting with mentor next monday"
+     *
+     * The input is scanned once, token by token, with keyword tries for dates,
+     * connectors and categories and a hand-written time recognizer, so no regex
+     * is compiled or run and the title is built from slices of the original text.
      */
     public ParsedTask parseTaskDescription(String input) {
         if (input == null || input.isBlank()) {
             return new ParsedTask(null, null, null);
         }
 
-        String text = input.trim().toLowerCase(Locale.ENGLISH);
-
+        LocalDate today = LocalDate.now(clock);
         LocalDate date = null;
         LocalTime time = null;
+        int categoryRank = CATEGORIES.length;
 
-        // --- 1️⃣ Extract Date ---
-        Matcher dayMatcher = DAY_PATTERN.matcher(text);
-        if (dayMatcher.find()) {
-            String day = dayMatcher.group(1);
-            date = interpretDate(day);
-            text = text.replace(day, "").trim(); // remove matched phrase from title
-        }
+        StringBuilder title = new StringBuilder(input.length());
+        int pendingStart = -1, pendingEnd = -1; // connector waiting to see what follows it
 
-        // --- 2️⃣ Extract Time ---
-        Matcher timeMatcher = TIME_PATTERN.matcher(text);
-        if (timeMatcher.find()) {
-            int hour = Integer.parseInt(timeMatcher.group(1));
-            int minute = (timeMatcher.group(2) != null) ? Integer.parseInt(timeMatcher.group(2)) : 0;
-            String ampm = timeMatcher.group(3);
+        int length = input.length();
+        int pos = 0;
+        while (pos < length) {
+            // --- 1️⃣ Next token ---
+            while (pos < length && Character.isWhitespace(input.charAt(pos))) pos++;
+            if (pos >= length) break;
+            int start = pos;
+            while (pos < length && !Character.isWhitespace(input.charAt(pos))) pos++;
+            int end = pos;
+            int wordEnd = trimPunctuation(input, start, end);
 
-            if (ampm != null) {
-                if (ampm.equalsIgnoreCase("pm") && hour < 12) hour += 12;
-                else if (ampm.equalsIgnoreCase("am") && hour == 12) hour = 0;
+            // --- 2️⃣ Date: today / tomorrow / <weekday> / next <weekday> ---
+            if (date == null) {
+                int nextStart = skipWhitespace(input, end);
+                int nextEnd = tokenEnd(input, nextStart);
+                if (equalsIgnoreCase(input, start, wordEnd, "next") && nextStart < length
+                        && DATE_WORDS.get(input, nextStart, trimPunctuation(input, nextStart, nextEnd)) instanceof DayOfWeek day) {
+                    date = nextDayOfWeek(today, day);
+                    pos = nextEnd;
+                    pendingStart = -1;
+                    continue;
+                }
+                Object dateWord = DATE_WORDS.get(input, start, wordEnd);
+                if (dateWord != null) {
+                    date = dateWord instanceof DayOfWeek day ? nextDayOfWeek(today, day) : today.plusDays((Integer) dateWord);
+                    pendingStart = -1;
+                    continue;
+                }
             }
 
-            time = LocalTime.of(hour, minute);
-            text = text.replace(timeMatcher.group(), "").trim(); // remove time from title
-        }
+            // --- 3️⃣ Time: 5pm, 5 pm, 10:30, 10:30am ---
+            if (time == null) {
+                int nextStart = skipWhitespace(input, end);
+                int nextEnd = tokenEnd(input, nextStart);
+                int meridiemEnd = nextStart < length ? trimPunctuation(input, nextStart, nextEnd) : nextStart;
+                long parsedTime = parseTime(input, start, wordEnd, nextStart, meridiemEnd);
+                if (parsedTime >= 0) {
+                    time = LocalTime.of((int) ((parsedTime >> 8) & 0xFF), (int) (parsedTime & 0xFF));
+                    if ((parsedTime & CONSUMED_NEXT) != 0) pos = nextEnd;
+                    pendingStart = -1;
+                    continue;
+                }
+            }
+
+            // --- 4️⃣ Connector: hold it until we know whether a date/time follows ---
+            if (CONNECTORS.get(input, start, wordEnd) != null) {
+                flushPending(title, input, pendingStart, pendingEnd);
+                pendingStart = start;
+                pendingEnd = end;
+                continue;
+            }
 
-        // --- 3️⃣ Detect Category ---
-        String category = detectCategory(text);
+            // --- 5️⃣ Plain title word (also checked for category keywords) ---
+            flushPending(title, input, pendingStart, pendingEnd);
+            pendingStart = -1;
+            Integer rank = CATEGORY_WORDS.longestPrefix(input, start, wordEnd);
+            if (rank != null && rank < categoryRank) categoryRank = rank;
+            appendToken(title, input, start, end);
+        }
+        flushPending(title, input, pendingStart, pendingEnd);
 
-        // --- 4️⃣ Clean title ---
-        String title = cleanTitle(text);
+        // A time without a day means today
+        if (time != null && date == null) {
+            date = today;
+        }
 
-        // --- 5️⃣ Construct ParsedTask ---
+        // --- 6️⃣ Construct ParsedTask ---
         LocalDateTime dateTime = null;
         if (date != null && time != null)
             dateTime = LocalDateTime.of(date, time);
         else if (date != null)
             dateTime = date.atStartOfDay();
 
+        String category = categoryRank < CATEGORIES.length ? CATEGORIES[categoryRank] : DEFAULT_CATEGORY;
         return new ParsedTask(capitalize(title), dateTime, category);
     }
 
-    private LocalDate interpretDate(String phrase) {
-        LocalDate today = LocalDate.now();
-        phrase = phrase.toLowerCase();
+    // Set in parseTime's result when the am/pm came from the following token ("5 pm")
+    private static final long CONSUMED_NEXT = 1L << 16;
 
-        if (phrase.contains("today")) {
-            return today;
-        } else if (phrase.contains("tomorrow")) {
-            return today.plusDays(1);
-        } else if (phrase.startsWith("next")) {
-            // Example: "next monday"
-            String[] parts = phrase.split(" ");
-            if (parts.length > 1) {
-                return nextDayOfWeek(parts[1]);
-            }
-        } else {
-            // Example: "monday", "friday"
-            return nextDayOfWeek(phrase);
+    /**
+     * Recognizes h, h:mm with an am/pm suffix (attached or as the next token), or a
+     * 24-hour H:mm. Returns hour << 8 | minute, or -1 if the token is not a time.
+     */
+    private static long parseTime(String s, int start, int end, int nextStart, int nextEnd) {
+        int i = start;
+        int hour = 0, digits = 0;
+        while (i < end && digits < 2 && isDigit(s.charAt(i))) {
+            hour = hour * 10 + (s.charAt(i++) - '0');
+            digits++;
         }
+        if (digits == 0) return -1;
 
-        return null;
-    }
+        int minute = 0;
+        boolean hasMinutes = false;
+        if (i < end && s.charAt(i) == ':') {
+            if (i + 3 > end || !isDigit(s.charAt(i + 1)) || !isDigit(s.charAt(i + 2))) return -1;
+            minute = (s.charAt(i + 1) - '0') * 10 + (s.charAt(i + 2) - '0');
+            hasMinutes = true;
+            i += 3;
+        }
 
-    private LocalDate nextDayOfWeek(String dayName) {
-        try {
-            DayOfWeek targetDay = DayOfWeek.valueOf(dayName.toUpperCase(Locale.ENGLISH));
-            LocalDate today = LocalDate.now();
-            int daysUntil = (targetDay.getValue() - today.getDayOfWeek().getValue() + 7) % 7;
-            return daysUntil == 0 ? today.plusWeeks(1) : today.plusDays(daysUntil);
-        } catch (IllegalArgumentException e) {
-            return null;
+        int meridiem = 0; // 0 = none, 1 = am, 2 = pm
+        boolean consumedNext = false;
+        if (i < end) {
+            meridiem = meridiem(s, i, end);
+            if (meridiem == 0) return -1; // e.g. "3rd", "10kg"
+        } else if (nextStart < nextEnd) {
+            meridiem = meridiem(s, nextStart, nextEnd);
+            consumedNext = meridiem != 0;
         }
+
+        if (minute > 59) return -1;
+        if (meridiem != 0) {
+            if (hour < 1 || hour > 12) return -1;
+            if (meridiem == 2 && hour < 12) hour += 12;
+            else if (meridiem == 1 && hour == 12) hour = 0;
+        } else if (!hasMinutes || hour > 23) {
+            return -1; // a bare number ("buy 3 apples") is not a time
+        }
+
+        return ((long) hour << 8) | minute | (consumedNext ? CONSUMED_NEXT : 0);
     }
 
-    private String detectCategory(String input) {
-        if (input == null) return "Personal";
-        input = input.toLowerCase();
+    private static int meridiem(String s, int start, int end) {
+        if (end - start != 2 || Character.toLowerCase(s.charAt(start + 1)) != 'm') return 0;
+        char c = Character.toLowerCase(s.charAt(start));
+        return c == 'a' ? 1 : c == 'p' ? 2 : 0;
+    }
 
-        if (input.contains("project") || input.contains("meeting") || input.contains("work"))
-            return "Work";
-        if (input.contains("bill") || input.contains("payment") || input.contains("budget"))
-            return "Finance";
-        if (input.contains("doctor") || input.contains("gym") || input.contains("health"))
-            return "Health";
-        if (input.contains("study") || input.contains("assignment"))
-            return "Study";
+    private static LocalDate nextDayOfWeek(LocalDate today, DayOfWeek targetDay) {
+        int daysUntil = (targetDay.getValue() - today.getDayOfWeek().getValue() + 7) % 7;
+        return daysUntil == 0 ? today.plusWeeks(1) : today.plusDays(daysUntil);
+    }
+
+    private static void flushPending(StringBuilder title, String s, int start, int end) {
+        if (start >= 0) appendToken(title, s, start, end);
+    }
+
+    private static void appendToken(StringBuilder title, String s, int start, int end) {
+        if (!title.isEmpty()) title.append(' ');
+        title.append(s, start, end);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // Trailing punctuation is ignored for recognition ("tomorrow," / "5pm.")
+    private static int trimPunctuation(String s, int start, int end) {
+        while (end > start && ",.;:!?".indexOf(s.charAt(end - 1)) >= 0) end--;
+        return end;
+    }
+
+    private static int skipWhitespace(String s, int pos) {
+        while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) pos++;
+        return pos;
+    }
+
+    private static int tokenEnd(String s, int pos) {
+        while (pos < s.length() && !Character.isWhitespace(s.charAt(pos))) pos++;
+        return pos;
+    }
 
-        return "Personal";
+    private static boolean equalsIgnoreCase(String s, int start, int end, String word) {
+        return end - start == word.length() && s.regionMatches(true, start, word, 0, word.length());
     }
-    private String cleanTitle(String text) {
-        return text
-                // Remove date-related words
-                .replaceAll("\\b(today|tomorrow|next\\s+\\w+|\\w+day)\\b", "")
-                // Remove time-related patterns (e.g., 10am, 5:30 pm)
-                .replaceAll("\\b(\\d{1,2})(?::\\d{2})?\\s?(am|pm)?\\b", "")
-                // Remove connectors like "by", "at", "on", "after", "in"
-                .replaceAll("\\b(by|at|on|after|in)\\b", "")
-                // Clean extra spaces
-                .replaceAll("\\s+", " ")
-                .trim();
+
+    private static String capitalize(CharSequence str) {
+        if (str == null || str.isEmpty()) return "";
+        return Character.toUpperCase(str.charAt(0)) + str.subSequence(1, str.length()).toString();
     }
 
+    /**
+     * Minimal case-insensitive trie over ASCII keywords, matched directly against a
+     * slice of the input so no lowercase copy or substring is allocated.
+     */
+    static final class KeywordTrie<V> {
 
-    private String capitalize(String str) {
-        if (str == null || str.isBlank()) return "";
-        return str.substring(0, 1).toUpperCase() + str.substring(1);
+        private final Node<V> root = new Node<>();
+
+        void put(String keyword, V value) {
+            Node<V> node = root;
+            for (int i = 0; i < keyword.length(); i++) {
+                node = node.child(Character.toLowerCase(keyword.charAt(i)), true);
+            }
+            node.value = value;
+        }
+
+        // Exact match of s[start, end)
+        V get(String s, int start, int end) {
+            Node<V> node = root;
+            for (int i = start; i < end && node != null; i++) {
+                node = node.child(Character.toLowerCase(s.charAt(i)), false);
+            }
+            return node != null ? node.value : null;
+        }
+
+        // Value of the longest keyword that s[start, end) starts with
+        V longestPrefix(String s, int start, int end) {
+            Node<V> node = root;
+            V found = null;
+            for (int i = start; i < end; i++) {
+                node = node.child(Character.toLowerCase(s.charAt(i)), false);
+                if (node == null) break;
+                if (node.value != null) found = node.value;
+            }
+            return found;
+        }
+
+        private static final class Node<V> {
+            private final Node<V>[] children = newChildren();
+            private V value;
+
+            @SuppressWarnings("unchecked")
+            private static <V> Node<V>[] newChildren() {
+                return (Node<V>[]) new Node[26];
+            }
+
+            Node<V> child(char c, boolean create) {
+                if (c < 'a' || c > 'z') return null;
+                Node<V> child = children[c - 'a'];
+                if (child == null && create) {
+                    child = new Node<>();
+                    children[c - 'a'] = child;
+                }
+                return child;
+            }
+        }
     }
 }
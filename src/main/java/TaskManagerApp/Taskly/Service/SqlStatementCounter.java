@@ -0,0 +1,154 @@
+package TaskManagerApp.Taskly.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares per unit of work (an HTTP request or one
+ * page of a job) and checks them against a budget.
+ *
+ * Registered as Hibernate's StatementInspector, so it sees every statement including lazy
+ * loads during view rendering. A scope is exceeded when it runs more statements than its
+ * budget, or repeats one statement more than repeat-limit times (the N+1 shape: the same
+ * SELECT once per row). Exceeded scopes are logged with the most repeated statement and
+ * counted in taskly.sql.budget.exceeded; with fail-on-exceed (the test profile) the scope
+ * throws instead, so a change that reintroduces N+1 fails CI.
+ *
+ * Every closed scope is recorded in the taskly.sql.statements distribution, tagged by scope.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementCounter.class);
+
+    // Scopes are per thread; work handed to other threads (SSE sends, streamed bodies) is not counted
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final int defaultBudget;
+    private final int repeatLimit;
+    private final boolean failOnExceed;
+
+    public SqlStatementCounter(ObjectProvider<MeterRegistry> meterRegistry,
+                               @Value("${taskly.sql.budget.default:10}") int defaultBudget,
+                               @Value("${taskly.sql.budget.repeat-limit:3}") int repeatLimit,
+                               @Value("${taskly.sql.budget.fail-on-exceed:false}") boolean failOnExceed) {
+        this.meterRegistry = meterRegistry;
+        this.defaultBudget = defaultBudget;
+        this.repeatLimit = repeatLimit;
+        this.failOnExceed = failOnExceed;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.record(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Starts counting on the current thread, with the default budget and repeat limit, until
+     * the returned scope is closed. A nested scope counts on its own and hands the thread
+     * back to the outer one when closed.
+     */
+    public Scope open(String name) {
+        return open(name, defaultBudget, repeatLimit);
+    }
+
+    /**
+     * Scope for work whose statements legitimately grow with its input (e.g. one INSERT
+     * batch per 50 imported rows): any statement may repeat up to the whole budget.
+     */
+    public Scope open(String name, int budget) {
+        return open(name, budget, budget);
+    }
+
+    private Scope open(String name, int budget, int repeatLimit) {
+        Scope scope = new Scope(name, budget, repeatLimit, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final String name;
+        private final int budget;
+        private final int repeatLimit;
+        private final Scope outer;
+        private final Map<String, Integer> repeats = new HashMap<>();
+        private int count;
+        private boolean closed;
+
+        private Scope(String name, int budget, int repeatLimit, Scope outer) {
+            this.name = name;
+            this.budget = budget;
+            this.repeatLimit = repeatLimit;
+            this.outer = outer;
+        }
+
+        private void record(String sql) {
+            count++;
+            repeats.merge(sql, 1, Integer::sum);
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Ends the scope and checks it.
+         *
+         * @throws IllegalStateException if the budget was exceeded and fail-on-exceed is set
+         */
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            CURRENT.set(outer);
+
+            Map.Entry<String, Integer> mostRepeated = repeats.entrySet().stream()
+                    .max(Map.Entry.comparingByValue()).orElse(null);
+            boolean overBudget = count > budget;
+            boolean repeated = mostRepeated != null && mostRepeated.getValue() > repeatLimit;
+
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                DistributionSummary.builder("taskly.sql.statements")
+                        .description("SQL statements per request or job page")
+                        .tag("scope", name).register(registry).record(count);
+            }
+            if (!overBudget && !repeated) return;
+
+            if (registry != null) {
+                Counter.builder("taskly.sql.budget.exceeded")
+                        .tag("scope", name).tag("reason", repeated ? "repeated" : "total")
+                        .register(registry).increment();
+            }
+            String message = String.format("%s ran %d SQL statements (budget %d); most repeated (%dx): %s",
+                    name, count, budget, mostRepeated.getValue(), mostRepeated.getKey());
+            if (failOnExceed) {
+                throw new IllegalStateException("SQL statement budget exceeded: " + message);
+            }
+            log.warn("🐢 {}", message);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package TaskManagerApp.Taskly.Service;
+
+// Outcome of a bulk import: rows saved, and rows ignored because they had no usable title
+// or a title, priority or category longer than its column
+public record TaskImportResult(int imported, int skipped) {}
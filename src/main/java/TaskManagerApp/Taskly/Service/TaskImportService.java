@@ -0,0 +1,204 @@
+package TaskManagerApp.Taskly.Service;
+
+import TaskManagerApp.Taskly.Model.DisplayFormats;
+import TaskManagerApp.Taskly.Model.Task;
+import TaskManagerApp.Taskly.Model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Bulk import of natural-language task lines ("Submit report tomorrow 5pm").
+ *
+ * Lines are parsed in parallel (NLPService is stateless), saved in one
+ * transaction as batched INSERTs, and the user gets one summary email
+ * instead of one per task.
+ */
+@Service
+public class TaskImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+
+    private static final String DEFAULT_PRIORITY = "Medium";
+    // title, priority and category are all VARCHAR(255); one longer value would fail the whole saveAll
+    private static final int MAX_COLUMN_LENGTH = 255;
+    // Below this the fork/join hand-off costs more than parsing the lines serially
+    private static final int PARALLEL_THRESHOLD = 64;
+    private static final int SUMMARY_EMAIL_TITLES = 20;
+
+    private final NLPService nlpService;
+    private final TaskService taskService;
+    private final EmailService emailService;
+    private final int maxLines;
+
+    public TaskImportService(NLPService nlpService, TaskService taskService, EmailService emailService,
+                             @Value("${taskly.import.max-lines:1000}") int maxLines) {
+        this.nlpService = nlpService;
+        this.taskService = taskService;
+        this.emailService = emailService;
+        this.maxLines = maxLines;
+    }
+
+    /**
+     * Imports one task per non-blank line of the body.
+     *
+     * Plain text: each line is a sentence for the NLP parser.
+     * CSV: "text[,priority[,category]]" per row; a leading "task"/"title" header row is skipped,
+     * and the optional columns override the default priority and the parsed category.
+     *
+     * @throws ImportTooLargeException if the body has more than taskly.import.max-lines rows
+     */
+    public TaskImportResult importTasks(String body, boolean csv, User user, String username, String email) {
+        List<String[]> rows = csv ? readCsv(body) : readLines(body);
+        if (rows.size() > maxLines) {
+            throw new ImportTooLargeException(maxLines);
+        }
+
+        // 🧠 Parse every row (in parallel for large imports), keeping the input order
+        LocalDateTime now = LocalDateTime.now();
+        Stream<String[]> stream = rows.size() >= PARALLEL_THRESHOLD ? rows.parallelStream() : rows.stream();
+        List<Task> parsed = stream.map(row -> toTask(row, now)).toList();
+
+        List<Task> tasks = new ArrayList<>(parsed.size());
+        for (Task task : parsed) {
+            if (task != null) tasks.add(task);
+        }
+        int skipped = rows.size() - tasks.size();
+
+        // 💾 One transaction, batched INSERTs
+        if (!tasks.isEmpty()) {
+            taskService.createTasks(tasks, user);
+        }
+        log.info("📥 Imported {} tasks for {} ({} skipped)", tasks.size(), username, skipped);
+
+        // 📧 One summary email for the whole import
+        if (!tasks.isEmpty() && email != null && !email.isBlank()) {
+            try {
+                emailService.sendEmail(email, "📥 " + tasks.size() + " Tasks Imported",
+                        buildSummaryEmail(username, tasks, skipped));
+            } catch (Exception e) {
+                log.warn("❌ Failed to send import summary email: {}", e.getMessage());
+            }
+        }
+
+        return new TaskImportResult(tasks.size(), skipped);
+    }
+
+    // Same field mapping as the single-task form (TaskViewController.addTask); null = skip the row
+    private Task toTask(String[] row, LocalDateTime createdOn) {
+        String text = row[0].strip();
+        ParsedTask parsed = nlpService.parseTaskDescription(text);
+
+        Task task = new Task();
+        task.setCreatedOn(createdOn);
+        task.setTitle(parsed.dueDateTime() != null && !parsed.title().isBlank() ? parsed.title() : text);
+        if (parsed.dueDateTime() != null) {
+            task.setDueDate(parsed.dueDateTime().toLocalDate());
+            task.setDueTime(parsed.dueDateTime().toLocalTime());
+        }
+        task.setPriority(column(row, 1, DEFAULT_PRIORITY));
+        task.setCategory(column(row, 2, parsed.category()));
+
+        return fits(task.getTitle()) && fits(task.getPriority()) && fits(task.getCategory()) ? task : null;
+    }
+
+    private static boolean fits(String value) {
+        return value == null || value.length() <= MAX_COLUMN_LENGTH;
+    }
+
+    private static String column(String[] row, int index, String fallback) {
+        return index < row.length && !row[index].isBlank() ? row[index].strip() : fallback;
+    }
+
+    private static List<String[]> readLines(String body) {
+        if (body == null) return List.of();
+        return body.lines()
+                .filter(line -> !line.isBlank())
+                .map(line -> new String[]{line})
+                .toList();
+    }
+
+    // Minimal CSV: comma separated, double-quoted fields with "" escapes, one record per line
+    private static List<String[]> readCsv(String body) {
+        List<String[]> rows = new ArrayList<>();
+        if (body == null) return rows;
+
+        body.lines().forEach(line -> {
+            String[] fields = splitCsvLine(line);
+            if (fields.length == 0 || fields[0].isBlank()) return;
+            if (rows.isEmpty() && isHeader(fields[0])) return;
+            rows.add(fields);
+        });
+        return rows;
+    }
+
+    private static boolean isHeader(String firstField) {
+        String name = firstField.strip();
+        return name.equalsIgnoreCase("task") || name.equalsIgnoreCase("title");
+    }
+
+    private static String[] splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    private static String buildSummaryEmail(String username, List<Task> tasks, int skipped) {
+        StringBuilder list = new StringBuilder();
+        for (Task task : tasks.subList(0, Math.min(tasks.size(), SUMMARY_EMAIL_TITLES))) {
+            list.append("• ").append(task.getTitle());
+            if (task.getDueDate() != null) {
+                list.append(" (due ").append(task.getDueDate().format(DisplayFormats.DATE)).append(")");
+            }
+            list.append("\n");
+        }
+        if (tasks.size() > SUMMARY_EMAIL_TITLES) {
+            list.append("…and ").append(tasks.size() - SUMMARY_EMAIL_TITLES).append(" more\n");
+        }
+
+        return String.format("""
+        Hello %s 👋,
+
+        %d tasks were imported into your Taskly dashboard%s.
+
+        %s
+        Keep up the productivity! 🚀
+
+        — Taskly Notifications
+        """,
+                username,
+                tasks.size(),
+                skipped > 0 ? " (" + skipped + " lines skipped)" : "",
+                list
+        );
+    }
+}
@@ -0,0 +1,163 @@
+package TaskManagerApp.Taskly.Service;
+
+import TaskManagerApp.Taskly.Repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Per-user Server-Sent Events feed of task changes.
+ *
+ * Every open dashboard tab subscribes; TaskService publishes after each write and
+ * the browser (static/js/script.js) patches only the affected cards and badges
+ * instead of reloading /home. Events are sent from a single background thread so a
+ * slow client never holds up the request that made the change.
+ */
+@Service
+public class TaskLiveFeed implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskLiveFeed.class);
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+
+    // Payload of every event: what changed plus the user's fresh sidebar counts
+    public record TaskEvent(String type, List<Long> ids,
+                            Map<String, Long> priorityCounts, Map<String, Long> categoryCounts) {}
+
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "taskly-live");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final DashboardStatsService dashboardStatsService;
+    private final UserRepository userRepository;
+    private final Duration timeout;
+    private final int maxConnectionsPerUser;
+
+    public TaskLiveFeed(DashboardStatsService dashboardStatsService, UserRepository userRepository,
+                        @Value("${taskly.live.timeout:30m}") Duration timeout,
+                        @Value("${taskly.live.max-connections-per-user:5}") int maxConnectionsPerUser) {
+        this.dashboardStatsService = dashboardStatsService;
+        this.userRepository = userRepository;
+        this.timeout = timeout;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+    }
+
+    /**
+     * Opens a feed for one browser tab. When the user already has the maximum number
+     * of open feeds, the oldest one is closed (the browser reconnects it if still open).
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        List<SseEmitter> evicted = new ArrayList<>();
+        subscribers.compute(userId, (id, emitters) -> {
+            if (emitters == null) emitters = new CopyOnWriteArrayList<>();
+            emitters.add(emitter);
+            while (emitters.size() > maxConnectionsPerUser) {
+                evicted.add(emitters.remove(0));
+            }
+            return emitters;
+        });
+        evicted.forEach(SseEmitter::complete);
+
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+        return emitter;
+    }
+
+    /**
+     * Tells the user's open tabs that the given tasks were created, updated or deleted.
+     * Does nothing (not even the counts lookup) when the user has no tab open.
+     */
+    public void publish(Long userId, String type, Collection<Long> ids) {
+        if (userId == null || !hasSubscribers(userId)) return;
+        List<Long> taskIds = List.copyOf(ids);
+
+        sender.execute(() -> {
+            try {
+                DashboardStats stats = dashboardStatsService.getStats(userRepository.getReferenceById(userId));
+                TaskEvent event = new TaskEvent(type, taskIds, stats.priorityCounts(), stats.categoryCounts());
+                send(userId, () -> SseEmitter.event().name(type).data(event, MediaType.APPLICATION_JSON));
+            } catch (Exception e) {
+                log.warn("❌ Failed to publish task event: {}", e.getMessage());
+            }
+        });
+    }
+
+    public boolean hasSubscribers(Long userId) {
+        List<SseEmitter> emitters = subscribers.get(userId);
+        return emitters != null && !emitters.isEmpty();
+    }
+
+    public int getConnectionCount() {
+        return subscribers.values().stream().mapToInt(List::size).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("taskly.live.connections", this, TaskLiveFeed::getConnectionCount)
+                .description("Open SSE task feeds").register(registry);
+    }
+
+    // Comment line that keeps idle connections open through proxies and detects closed tabs
+    @Scheduled(fixedDelayString = "${taskly.live.heartbeat-ms:25000}")
+    public void sendHeartbeat() {
+        for (Long userId : subscribers.keySet()) {
+            sender.execute(() -> send(userId, () -> SseEmitter.event().comment("keep-alive")));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        sender.shutdownNow();
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        subscribers.clear();
+    }
+
+    // A built event cannot be sent twice, so each emitter gets a fresh one
+    private void send(Long userId, Supplier<SseEmitter.SseEventBuilder> event) {
+        List<SseEmitter> emitters = subscribers.get(userId);
+        if (emitters == null) return;
+
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(event.get());
+            } catch (IOException | IllegalStateException e) {
+                // Tab closed or connection dropped
+                remove(userId, emitter);
+            }
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        subscribers.computeIfPresent(userId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,11 @@
+package TaskManagerApp.Taskly.Service;
+
+import TaskManagerApp.Taskly.Model.TaskView;
+
+import java.util.List;
+
+/**
+ * One keyset page of tasks; nextCursor is the id to pass as "after" for the following page,
+ * or null when this is the last page.
+ */
+public record TaskPage(List<TaskView> items, Long nextCursor) {}
@@ -0,0 +1,395 @@
+package TaskManagerApp.Taskly.Service;
+
+import TaskManagerApp.Taskly.Repository.TaskRepository;
+import TaskManagerApp.Taskly.Repository.TaskSearchDocument;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process inverted index over task titles and descriptions, one per user.
+ *
+ * A user's index is built from MySQL on first search (and for up to max-users users at
+ * startup), then kept current by TaskService after every committed create, edit or
+ * delete. Query words match indexed words exactly, by prefix ("rep" finds "report")
+ * or within one or two typos ("reprot"); every query word must match.
+ *
+ * The map of users is bounded (least recently used user is dropped first). Each user's
+ * index has its own read/write lock, so searches run in parallel and the DB load is
+ * never done while holding a monitor (virtual-thread friendly).
+ */
+@Component
+public class TaskSearchIndex implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 40;
+    // Typo tolerance: 1 edit from 4 letters, 2 edits from 8 letters
+    private static final int FUZZY_MIN_LENGTH = 4;
+    private static final int FUZZY_TWO_EDITS_LENGTH = 8;
+
+    private static final int SCORE_EXACT = 3;
+    private static final int SCORE_PREFIX = 2;
+    private static final int SCORE_FUZZY = 1;
+
+    private final TaskRepository taskRepository;
+    // Loads run in their own read-write transaction, so they read the primary even when the
+    // search comes from a read-only (replica-routed) TaskService query; see load()
+    private final TransactionTemplate primaryRead;
+    private final int maxUsers;
+    private final boolean warmOnStartup;
+    private final Map<Long, UserIndex> indexes;
+
+    private final AtomicLong loads = new AtomicLong();
+    // Null until bound to a registry
+    private volatile Timer matchLatency;
+
+    public TaskSearchIndex(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                           @Value("${taskly.search.max-users:1000}") int maxUsers,
+                           @Value("${taskly.search.warm-on-startup:true}") boolean warmOnStartup) {
+        this.taskRepository = taskRepository;
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        this.primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxUsers = maxUsers;
+        this.warmOnStartup = warmOnStartup;
+        this.indexes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserIndex> eldest) {
+                return size() > TaskSearchIndex.this.maxUsers;
+            }
+        };
+    }
+
+    /**
+     * Ids of the user's tasks matching every word of the query, best match first.
+     */
+    public List<Long> search(Long userId, String query, int limit) {
+        Set<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) return List.of();
+
+        UserIndex index = load(userId);
+        long started = System.nanoTime();
+        index.lock.readLock().lock();
+        try {
+            return index.search(terms, limit);
+        } finally {
+            index.lock.readLock().unlock();
+            if (matchLatency != null) matchLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // --- Incremental updates from TaskService (after commit) ---
+
+    public void index(Long userId, Long taskId, String title, String description) {
+        update(userId, index -> index.put(taskId, title, description));
+    }
+
+    public void remove(Long userId, Collection<Long> taskIds) {
+        update(userId, index -> taskIds.forEach(index::remove));
+    }
+
+    // --- Startup rebuild ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmOnStartup) return;
+        long started = System.nanoTime();
+        List<Long> userIds = taskRepository.findUserIdsWithTasks(Limit.of(maxUsers));
+        userIds.forEach(this::load);
+        log.info("🔎 Search index built for {} users in {} ms", userIds.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public int getIndexedUserCount() {
+        synchronized (indexes) {
+            return indexes.size();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("taskly.search.indexed.users", this, TaskSearchIndex::getIndexedUserCount)
+                .description("Users whose search index is in memory").register(registry);
+        FunctionCounter.builder("taskly.search.index.loads", loads, AtomicLong::get)
+                .description("Per-user indexes built from MySQL").register(registry);
+        matchLatency = Timer.builder("taskly.search.match")
+                .description("In-memory matching time of one query (excludes index loads)")
+                .publishPercentileHistogram().register(registry);
+    }
+
+    // Returns the user's index, building it from MySQL if needed
+    private UserIndex load(Long userId) {
+        UserIndex index;
+        synchronized (indexes) {
+            index = indexes.computeIfAbsent(userId, id -> new UserIndex());
+        }
+        if (index.loaded) return index;
+
+        // Writes that commit while this runs wait on the lock and are applied afterwards;
+        // writes that found the index unloaded are already in the rows read here. That only
+        // holds on the primary: a lagging replica could miss such a write for good.
+        index.lock.writeLock().lock();
+        try {
+            if (!index.loaded) {
+                loads.incrementAndGet();
+                List<TaskSearchDocument> documents = primaryRead.execute(
+                        status -> taskRepository.findSearchDocumentsByUserId(userId));
+                for (TaskSearchDocument document : documents) {
+                    index.put(document.getId(), document.getTitle(), document.getDescription());
+                }
+                index.loaded = true;
+            }
+        } finally {
+            index.lock.writeLock().unlock();
+        }
+        return index;
+    }
+
+    // Not-yet-loaded users are skipped: their first search reads the write from MySQL
+    private void update(Long userId, Consumer<UserIndex> change) {
+        if (userId == null) return;
+        UserIndex index;
+        synchronized (indexes) {
+            index = indexes.get(userId);
+        }
+        if (index == null) return;
+
+        index.lock.writeLock().lock();
+        try {
+            if (index.loaded) change.accept(index);
+        } finally {
+            index.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lowercase words of at least two letters or digits, without duplicates.
+     */
+    static Set<String> tokenize(String... texts) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text == null) continue;
+            int length = text.length();
+            int pos = 0;
+            while (pos < length) {
+                while (pos < length && !Character.isLetterOrDigit(text.charAt(pos))) pos++;
+                int start = pos;
+                while (pos < length && Character.isLetterOrDigit(text.charAt(pos))) pos++;
+                int end = Math.min(pos, start + MAX_TERM_LENGTH);
+                if (end - start >= MIN_TERM_LENGTH) {
+                    terms.add(text.substring(start, end).toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * True if a and b are at most maxEdits insertions, deletions or substitutions apart.
+     * Two-row Levenshtein in the caller's scratch array (at least 2 * (b.length() + 1) ints)
+     * that stops as soon as a row cannot get back under the limit.
+     */
+    static boolean withinEdits(String a, String b, int maxEdits, int[] rows) {
+        if (Math.abs(a.length() - b.length()) > maxEdits) return false;
+        int width = b.length() + 1;
+        int previous = 0, current = width;
+        for (int j = 0; j < width; j++) rows[previous + j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            rows[current] = i;
+            int rowMin = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j < width; j++) {
+                int cost = c == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(rows[current + j - 1] + 1, rows[previous + j] + 1),
+                        rows[previous + j - 1] + cost);
+                rows[current + j] = value;
+                if (value < rowMin) rowMin = value;
+            }
+            if (rowMin > maxEdits) return false;
+            int swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return rows[previous + width - 1] <= maxEdits;
+    }
+
+    /**
+     * One user's index. Tasks get a dense int ordinal so postings are int arrays and a
+     * query scores into plain int[] accumulators instead of boxed maps.
+     */
+    private static final class UserIndex {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private volatile boolean loaded;
+
+        // word -> ordinals of the tasks containing it (sorted by word, for prefix ranges)
+        private final TreeMap<String, IntList> postings = new TreeMap<>();
+        // task id -> ordinal, ordinal -> task id / words (words are needed to unindex on edit/delete)
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private long[] taskIds = new long[16];
+        private String[][] termsByOrdinal = new String[16][];
+        private final IntList freeOrdinals = new IntList();
+        private int ordinalCount;
+
+        void put(Long taskId, String title, String description) {
+            remove(taskId);
+            int ordinal = freeOrdinals.size > 0 ? freeOrdinals.removeLast() : newOrdinal();
+            String[] terms = tokenize(title, description).toArray(String[]::new);
+            ordinals.put(taskId, ordinal);
+            taskIds[ordinal] = taskId;
+            termsByOrdinal[ordinal] = terms;
+            for (String term : terms) {
+                postings.computeIfAbsent(term, t -> new IntList()).add(ordinal);
+            }
+        }
+
+        void remove(Long taskId) {
+            Integer ordinal = ordinals.remove(taskId);
+            if (ordinal == null) return;
+            for (String term : termsByOrdinal[ordinal]) {
+                IntList list = postings.get(term);
+                if (list != null && list.remove(ordinal) && list.size == 0) {
+                    postings.remove(term);
+                }
+            }
+            termsByOrdinal[ordinal] = null;
+            freeOrdinals.add(ordinal);
+        }
+
+        List<Long> search(Set<String> terms, int limit) {
+            int[] total = new int[ordinalCount];
+            int[] matchedTerms = new int[ordinalCount];
+            int[] best = new int[ordinalCount];
+            IntList touched = new IntList();
+            int[] distanceRows = new int[2 * (MAX_TERM_LENGTH + 3)];
+
+            int round = 0;
+            for (String term : terms) {
+                touched.size = 0;
+                match(term, best, touched, distanceRows);
+
+                // AND: a task stays a candidate only if it matched every word so far
+                boolean any = false;
+                for (int i = 0; i < touched.size; i++) {
+                    int ordinal = touched.values[i];
+                    if (matchedTerms[ordinal] == round) {
+                        matchedTerms[ordinal]++;
+                        total[ordinal] += best[ordinal];
+                        any = true;
+                    }
+                    best[ordinal] = 0;
+                }
+                if (!any) return List.of();
+                round++;
+            }
+
+            // Top "limit" by score, then newest (highest id) first
+            Comparator<Integer> ranking = Comparator.<Integer>comparingInt(o -> total[o])
+                    .thenComparingLong(o -> taskIds[o]);
+            PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, ranking);
+            for (int ordinal = 0; ordinal < ordinalCount; ordinal++) {
+                if (matchedTerms[ordinal] != round) continue;
+                top.add(ordinal);
+                if (top.size() > limit) top.poll();
+            }
+            Long[] ids = new Long[top.size()];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                ids[i] = taskIds[top.poll()];
+            }
+            return List.of(ids);
+        }
+
+        // Best score per task for one query word (exact > prefix > typo) into best[], listing the tasks hit
+        private void match(String term, int[] best, IntList touched, int[] distanceRows) {
+            for (Map.Entry<String, IntList> entry
+                    : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                score(entry.getValue(), entry.getKey().equals(term) ? SCORE_EXACT : SCORE_PREFIX, best, touched);
+            }
+
+            if (term.length() < FUZZY_MIN_LENGTH) return;
+            int maxEdits = term.length() >= FUZZY_TWO_EDITS_LENGTH ? 2 : 1;
+            // Typos in the first letter are rare; scanning only words that share it keeps this fast
+            String first = term.substring(0, 1);
+            for (Map.Entry<String, IntList> entry
+                    : postings.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                String word = entry.getKey();
+                if (!word.startsWith(term) && withinEdits(term, word, maxEdits, distanceRows)) {
+                    score(entry.getValue(), SCORE_FUZZY, best, touched);
+                }
+            }
+        }
+
+        private static void score(IntList ordinals, int score, int[] best, IntList touched) {
+            for (int i = 0; i < ordinals.size; i++) {
+                int ordinal = ordinals.values[i];
+                if (best[ordinal] == 0) touched.add(ordinal);
+                if (score > best[ordinal]) best[ordinal] = score;
+            }
+        }
+
+        private int newOrdinal() {
+            if (ordinalCount == taskIds.length) {
+                taskIds = Arrays.copyOf(taskIds, ordinalCount * 2);
+                termsByOrdinal = Arrays.copyOf(termsByOrdinal, ordinalCount * 2);
+            }
+            return ordinalCount++;
+        }
+    }
+
+    // Growable int array; removal swaps in the last element (posting order does not matter)
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        boolean remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int removeLast() {
+            return values[--size];
+        }
+    }
+}
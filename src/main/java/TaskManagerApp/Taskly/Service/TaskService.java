@@ -1,23 +1,53 @@
 package TaskManagerApp.Taskly.Service;
 
+import TaskManagerApp.Taskly.Model.LockedTask;
 import TaskManagerApp.Taskly.Model.Task;
+import TaskManagerApp.Taskly.Model.TaskState;
+import TaskManagerApp.Taskly.Model.TaskView;
 import TaskManagerApp.Taskly.Model.User;
+import TaskManagerApp.Taskly.Repository.TaskListVersion;
 import TaskManagerApp.Taskly.Repository.TaskRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
 
     private final TaskRepository taskRepository;
+    private final DashboardStatsCache dashboardStatsCache;
+    private final TaskLiveFeed liveFeed;
+    private final TaskSearchIndex searchIndex;
+    private final TaskStatsService taskStats;
+    // Task write + user_task_stats delta commit together; caches and events are updated after commit
+    private final TransactionTemplate transactions;
 
-    public TaskService(TaskRepository taskRepository) {
+    public TaskService(TaskRepository taskRepository, DashboardStatsCache dashboardStatsCache, TaskLiveFeed liveFeed,
+                       TaskSearchIndex searchIndex, TaskStatsService taskStats,
+                       PlatformTransactionManager transactionManager) {
         this.taskRepository = taskRepository;
+        this.dashboardStatsCache = dashboardStatsCache;
+        this.liveFeed = liveFeed;
+        this.searchIndex = searchIndex;
+        this.taskStats = taskStats;
+        this.transactions = new TransactionTemplate(transactionManager);
     }
 
     // --- CRUD Operations ---
@@ -30,19 +60,104 @@ public class TaskService {
             task.setCreatedOn(LocalDateTime.now());
         }
 
-        return taskRepository.save(task);
+        Task saved = transactions.execute(status -> {
+            Task created = taskRepository.save(task);
+            taskStats.recordChanges(user.getId(), List.of(), List.of(TaskState.of(created)));
+            return created;
+        });
+        dashboardStatsCache.recordCreated(user.getId(), saved.getPriority(), saved.getCategory());
+        searchIndex.index(user.getId(), saved.getId(), saved.getTitle(), saved.getDescription());
+        liveFeed.publish(user.getId(), TaskLiveFeed.CREATED, List.of(saved.getId()));
+        return saved;
+    }
+
+    /**
+     * Persists a batch of new tasks for the user in one transaction (saveAll). With
+     * hibernate.jdbc.batch_size set, the INSERTs go out as JDBC batches.
+     */
+    public List<Task> createTasks(List<Task> tasks, User user) {
+        for (Task task : tasks) {
+            task.setUser(user);
+            if (task.getCreatedOn() == null) {
+                task.setCreatedOn(LocalDateTime.now());
+            }
+        }
+        List<Task> saved = transactions.execute(status -> {
+            List<Task> created = taskRepository.saveAll(tasks);
+            taskStats.recordChanges(user.getId(), List.of(), created.stream().map(TaskState::of).toList());
+            return created;
+        });
+        dashboardStatsCache.invalidate(user.getId());
+        saved.forEach(task -> searchIndex.index(user.getId(), task.getId(), task.getTitle(), task.getDescription()));
+        liveFeed.publish(user.getId(), TaskLiveFeed.CREATED, saved.stream().map(Task::getId).toList());
+        return saved;
     }
 
+    // Managed entity for editing (updateTask), so deliberately not a read-only transaction
     public Optional<Task> getTaskById(Long id, User user) {
-        return taskRepository.findById(id).filter(task -> task.getUser().equals(user));
+        // Owner check happens in the query (PK probe + user_id), not after hydrating the row
+        return taskRepository.findByIdAndUser(id, user);
     }
 
+    // Read-only lookup for rendering; no entity is loaded
+    @Transactional(readOnly = true)
+    public Optional<TaskView> getTaskViewById(Long id, User user) {
+        return taskRepository.findViewByIdAndUser(id, user);
+    }
+
+    // Edit-form lookup; read-write so it stays on the primary and the form carries the current version
+    @Transactional
+    public Optional<TaskView> getTaskViewForEdit(Long id, User user) {
+        return taskRepository.findViewByIdAndUser(id, user);
+    }
+
+    @Transactional(readOnly = true)
     public List<Task> findByUser(User user) {
         return taskRepository.findByUser(user);
     }
 
+    /**
+     * Returns up to pageSize tasks with an id greater than afterId (keyset pagination).
+     * One extra row is fetched to know whether another page exists.
+     */
+    @Transactional(readOnly = true)
+    public TaskPage findPageByUser(User user, Long afterId, int pageSize) {
+        List<TaskView> rows = taskRepository.findViewPageByUser(
+                user, afterId != null ? afterId : 0L, Limit.of(pageSize + 1));
+
+        if (rows.size() <= pageSize) {
+            return new TaskPage(rows, null);
+        }
+        List<TaskView> items = rows.subList(0, pageSize);
+        return new TaskPage(items, items.get(pageSize - 1).getId());
+    }
+
+    /**
+     * Hands every task of the user to the consumer one row at a time. Rows are
+     * projected straight into TaskView, so nothing accumulates in the persistence context.
+     */
+    @Transactional(readOnly = true)
+    public void forEachTask(User user, Consumer<TaskView> consumer) {
+        try (Stream<TaskView> tasks = taskRepository.streamByUser(user)) {
+            tasks.forEach(consumer);
+        }
+    }
+
+    /**
+     * Copies the editable fields onto the stored task. If updatedTask carries a version
+     * (edit form, API client) it must match the stored one, otherwise the edit was made
+     * on stale data and ObjectOptimisticLockingFailureException is thrown.
+     */
     public Optional<Task> updateTask(Long id, Task updatedTask, User user) {
-        return getTaskById(id, user).map(task -> {
+        String[] oldGroup = new String[2]; // priority, category before the edit
+        Optional<Task> result = transactions.execute(status -> getTaskById(id, user).map(task -> {
+            if (updatedTask.getVersion() != null && !updatedTask.getVersion().equals(task.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Task.class, id);
+            }
+            oldGroup[0] = task.getPriority();
+            oldGroup[1] = task.getCategory();
+            TaskState before = TaskState.of(task);
+
             task.setTitle(updatedTask.getTitle());
             task.setDescription(updatedTask.getDescription());
             task.setDueDate(updatedTask.getDueDate());
@@ -50,28 +165,187 @@ public class TaskService {
             task.setCompleted(updatedTask.isCompleted());
             task.setPriority(updatedTask.getPriority());
             task.setCategory(updatedTask.getCategory());
-            return taskRepository.save(task);
+            Task saved = taskRepository.save(task);
+            taskStats.recordChanges(user.getId(), List.of(before), List.of(TaskState.of(saved)));
+            return saved;
+        }));
+
+        result.ifPresent(saved -> {
+            dashboardStatsCache.recordChanged(user.getId(), oldGroup[0], oldGroup[1],
+                    saved.getPriority(), saved.getCategory());
+            searchIndex.index(user.getId(), id, saved.getTitle(), saved.getDescription());
+            liveFeed.publish(user.getId(), TaskLiveFeed.UPDATED, List.of(id));
         });
+        return result;
+    }
+
+    /**
+     * Flips the completed flag with one owner-scoped UPDATE (no entity load; the per-user
+     * totals read the task's completed/due state under a row lock first).
+     * Returns false if the task does not exist or belongs to another user.
+     */
+    public boolean toggleCompleted(Long id, Long userId) {
+        boolean toggled = Boolean.TRUE.equals(transactions.execute(status -> {
+            List<TaskState> before = lockStates(userId, List.of(id));
+            if (before.isEmpty()) return false;
+            int rows = taskRepository.toggleCompletedByIdAndUserId(id, userId, LocalDateTime.now());
+            recordChanges(userId, before, rows,
+                    before.stream().map(state -> state.withCompleted(!state.completed())).toList());
+            return rows > 0;
+        }));
+        // Completion is not part of the sidebar counts, so the cache stays valid
+        if (toggled) liveFeed.publish(userId, TaskLiveFeed.UPDATED, List.of(id));
+        return toggled;
     }
 
-    public void deleteTask(Long id, User user) {
-        getTaskById(id, user).ifPresent(taskRepository::delete);
+    /**
+     * Deletes the task with one owner-scoped DELETE (no entity load; its completed/due state
+     * and priority/category are read under a row lock first for the totals and sidebar counts).
+     * Returns false if the task does not exist or belongs to another user.
+     */
+    public boolean deleteOwned(Long id, Long userId) {
+        Deletion deletion = transactions.execute(status ->
+                deleteLocked(userId, List.of(id), () -> taskRepository.deleteByIdAndUserId(id, userId)));
+        boolean deleted = deletion.rows() > 0;
+        if (deleted) {
+            recordDeleted(userId, deletion);
+            searchIndex.remove(userId, List.of(id));
+            liveFeed.publish(userId, TaskLiveFeed.DELETED, List.of(id));
+        }
+        return deleted;
+    }
+
+    // --- Batch Operations (single UPDATE/DELETE each; return the number of rows affected) ---
+    // Caches and events are only touched after the transaction has committed
+
+    public int setCompleted(Collection<Long> ids, boolean completed, User user) {
+        if (ids.isEmpty()) return 0;
+        int updated = transactions.execute(status -> {
+            List<TaskState> before = lockStates(user.getId(), ids);
+            if (before.isEmpty()) return 0;
+            int rows = taskRepository.updateCompletedByUserAndIdIn(user, ids, completed, LocalDateTime.now());
+            recordChanges(user.getId(), before, rows,
+                    before.stream().map(state -> state.withCompleted(completed)).toList());
+            return rows;
+        });
+        // Sidebar counts are by priority/category only, so the cache stays valid
+        if (updated > 0) liveFeed.publish(user.getId(), TaskLiveFeed.UPDATED, ids);
+        return updated;
+    }
+
+    public int setPriority(Collection<Long> ids, String priority, User user) {
+        if (ids.isEmpty()) return 0;
+        String priorityKey = priority != null ? priority.toLowerCase(Locale.ROOT) : null;
+        // Priority is not part of user_task_stats, so only the UPDATE runs in the transaction
+        int updated = transactions.execute(status -> taskRepository.updatePriorityByUserAndIdIn(
+                user, ids, priority, priorityKey, LocalDateTime.now()));
+        if (updated > 0) {
+            dashboardStatsCache.invalidate(user.getId());
+            liveFeed.publish(user.getId(), TaskLiveFeed.UPDATED, ids);
+        }
+        return updated;
+    }
+
+    public int deleteTasks(Collection<Long> ids, User user) {
+        if (ids.isEmpty()) return 0;
+        Deletion deletion = transactions.execute(status ->
+                deleteLocked(user.getId(), ids, () -> taskRepository.deleteByUserAndIdIn(user, ids)));
+        int deleted = deletion.rows();
+        if (deleted > 0) {
+            recordDeleted(user.getId(), deletion);
+            searchIndex.remove(user.getId(), ids);
+            liveFeed.publish(user.getId(), TaskLiveFeed.DELETED, ids);
+        }
+        return deleted;
+    }
+
+    // Before-state of the tasks a write will change, row-locked until the transaction ends
+    private List<TaskState> lockStates(Long userId, Collection<Long> ids) {
+        return taskRepository.findStatesByUserIdAndIdInForUpdate(userId, ids);
+    }
+
+    // The delta only holds if the statement hit exactly the locked rows; otherwise recount the user
+    private void recordChanges(Long userId, List<TaskState> before, int rows, List<TaskState> after) {
+        if (rows == before.size()) {
+            taskStats.recordChanges(userId, before, after);
+        } else {
+            taskStats.recount(userId);
+        }
+    }
+
+    // Rows a DELETE removed, as locked just before it ran
+    private record Deletion(int rows, List<LockedTask> tasks) {
+
+        boolean exact() {
+            return rows == tasks.size();
+        }
+    }
+
+    // Locks the rows, runs the owner-scoped DELETE and applies its delta to the per-user totals
+    private Deletion deleteLocked(Long userId, Collection<Long> ids, IntSupplier delete) {
+        List<LockedTask> before = taskRepository.findLockedByUserIdAndIdInForUpdate(userId, ids);
+        if (before.isEmpty()) return new Deletion(0, List.of());
+        int rows = delete.getAsInt();
+        recordChanges(userId, before.stream().map(LockedTask::state).toList(), rows, List.of());
+        return new Deletion(rows, before);
+    }
+
+    // After commit: count the deleted rows out of their sidebar groups, or reload if unsure
+    private void recordDeleted(Long userId, Deletion deletion) {
+        if (deletion.exact()) {
+            deletion.tasks().forEach(task -> dashboardStatsCache.recordDeleted(userId, task.priority(), task.category()));
+        } else {
+            dashboardStatsCache.invalidate(userId);
+        }
+    }
+
+    /**
+     * Count and latest write time of the user's tasks; the list endpoints derive their ETag from it.
+     */
+    @Transactional(readOnly = true)
+    public TaskListVersion getTaskListVersion(User user) {
+        return taskRepository.findListVersionByUser(user);
+    }
+
+    /**
+     * Full-text search over the user's task titles and descriptions (TaskSearchIndex),
+     * best match first. Toggle and reprioritize do not touch the text, so they skip the index.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskView> searchTasks(User user, String query, int limit) {
+        List<Long> ids = searchIndex.search(user.getId(), query, limit);
+        if (ids.isEmpty()) return List.of();
+
+        Map<Long, TaskView> byId = new HashMap<>();
+        for (TaskView view : taskRepository.findViewsByUserAndIdIn(user, ids)) {
+            byId.put(view.getId(), view);
+        }
+        List<TaskView> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TaskView view = byId.get(id);
+            if (view != null) results.add(view);
+        }
+        return results;
     }
 
     // --- Filtering and Counting Methods (remain unchanged) ---
 
-    public List<Task> getTasksByPriority(User user, String priority) {
+    @Transactional(readOnly = true)
+    public List<TaskView> getTasksByPriority(User user, String priority) {
         return taskRepository.findByUserAndPriority(user, priority);
     }
 
-    public List<Task> getTasksByCategory(User user, String category) {
+    @Transactional(readOnly = true)
+    public List<TaskView> getTasksByCategory(User user, String category) {
         return taskRepository.findByUserAndCategory(user, category);
     }
 
+    @Transactional(readOnly = true)
     public long countTasksByPriority(User user, String priority) {
         return taskRepository.countByUserAndPriority(user, priority);
     }
 
+    @Transactional(readOnly = true)
     public long countTasksByCategory(User user, String category) {
         return taskRepository.countByUserAndCategory(user, category);
     }
@@ -87,7 +361,8 @@ public class TaskService {
         return taskRepository.findTasksDueTodayOlder(user, today);
     }*/
 
-    public List<Task> getTasksDueTodayOlder(User user, LocalDate today) {
+    @Transactional(readOnly = true)
+    public List<TaskView> getTasksDueTodayOlder(User user, LocalDate today) {
         LocalDateTime startOfToday = today.atStartOfDay();
         return taskRepository.findTasksDueTodayOlder(user, today, startOfToday);
     }
@@ -103,18 +378,41 @@ public class TaskService {
         return taskRepository.findTasksAddedTodayNative(user.getId(), today);
     }*/
 
-    public List<Task> getTasksAddedToday(User user, LocalDate today) {
+    @Transactional(readOnly = true)
+    public List<TaskView> getTasksAddedToday(User user, LocalDate today) {
         LocalDateTime startOfDay = today.atStartOfDay();
         LocalDateTime endOfDay = today.atTime(LocalTime.MAX);
         return taskRepository.findTasksCreatedToday(user, startOfDay, endOfDay);
     }
 
-    public List<Task> getOverdueTasks(User user, LocalDate today) {
+    @Transactional(readOnly = true)
+    public List<TaskView> getOverdueTasks(User user, LocalDate today) {
         return taskRepository.findOverdueTasks(user, today);
     }
 
     public void saveTask(Task task) {
-        taskRepository.save(task);
+        boolean isNew = task.getId() == null;
+        Long ownerId = task.getUser() != null ? task.getUser().getId() : null;
+        Task saved = transactions.execute(status -> {
+            Task written = taskRepository.save(task);
+            if (isNew) {
+                taskStats.recordChanges(ownerId, List.of(), List.of(TaskState.of(written)));
+            } else {
+                // The previous state is already gone from the entity, so recount this user
+                taskStats.recount(ownerId);
+            }
+            return written;
+        });
+        Long userId = saved.getUser() != null ? saved.getUser().getId() : null;
+
+        if (isNew) {
+            dashboardStatsCache.recordCreated(userId, saved.getPriority(), saved.getCategory());
+        } else if (userId != null) {
+            // The caller already mutated the entity, so the previous values are gone; reload on next read
+            dashboardStatsCache.invalidate(userId);
+        }
+        searchIndex.index(userId, saved.getId(), saved.getTitle(), saved.getDescription());
+        liveFeed.publish(userId, isNew ? TaskLiveFeed.CREATED : TaskLiveFeed.UPDATED, List.of(saved.getId()));
     }
 
 
@@ -0,0 +1,297 @@
+package TaskManagerApp.Taskly.Service;
+
+import TaskManagerApp.Taskly.Model.TaskState;
+import TaskManagerApp.Taskly.Model.UserTaskStats;
+import TaskManagerApp.Taskly.Repository.TaskRepository;
+import TaskManagerApp.Taskly.Repository.UserRepository;
+import TaskManagerApp.Taskly.Repository.UserTaskCount;
+import TaskManagerApp.Taskly.Repository.UserTaskStatsRepository;
+import TaskManagerApp.Taskly.Repository.UserTaskSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains user_task_stats, the per-user completed / open / overdue totals.
+ *
+ * - TaskService calls recordChanges inside each write's transaction with the before and
+ *   after state of the affected tasks, so the totals commit or roll back with the write.
+ * - After each user's local midnight the overdue count is rolled forward (open tasks due
+ *   on the days that just ended become overdue).
+ * - A nightly reconciliation recounts every user from the task rows and repairs drift
+ *   (e.g. tasks changed outside TaskService).
+ *
+ * Users without a row (created before it could be inserted) and rows dated ahead of the
+ * requested day are rebuilt from a recount the first time their summary is read.
+ */
+@Service
+public class TaskStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatsService.class);
+
+    // Roll-forward page: lock the rows, one count, then one UPDATE per distinct number of newly
+    // overdue tasks (usually 0 and a few small numbers), so the same UPDATE may repeat
+    private static final int ROLL_FORWARD_PAGE_BUDGET = 20;
+
+    private final UserTaskStatsRepository statsRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactions;
+    private final SqlStatementCounter statementCounter;
+    private final int pageSize;
+
+    public TaskStatsService(UserTaskStatsRepository statsRepository, TaskRepository taskRepository,
+                            UserRepository userRepository, PlatformTransactionManager transactionManager,
+                            SqlStatementCounter statementCounter,
+                            @Value("${taskly.stats.reconcile-page-size:500}") int pageSize) {
+        this.statsRepository = statsRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.statementCounter = statementCounter;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Applies a write to the user's totals: removed states are subtracted, added ones added.
+     * Must run in the write's transaction; the row lock serializes the user's concurrent writes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanges(Long userId, Collection<TaskState> removed, Collection<TaskState> added) {
+        if (userId == null || (removed.isEmpty() && added.isEmpty())) return;
+        statsRepository.findByIdForUpdate(userId).ifPresent(stats -> {
+            removed.forEach(state -> stats.add(state, -1));
+            added.forEach(state -> stats.add(state, 1));
+        });
+    }
+
+    /**
+     * Replaces the user's totals with a recount, for writes whose previous state is unknown.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recount(Long userId) {
+        if (userId == null) return;
+        statsRepository.findByIdForUpdate(userId).ifPresent(stats -> resetFromRecount(List.of(stats), stats.getStatsDate()));
+    }
+
+    /**
+     * Creates the zeroed row of a newly registered user (in the registration transaction).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void createFor(Long userId, LocalDate today) {
+        statsRepository.save(new UserTaskStats(userId, today));
+    }
+
+    /**
+     * Completed / overdue / remaining totals of the given users as of their local date
+     * "today": one row read per user instead of a GROUP BY over their tasks.
+     */
+    public Map<Long, UserTaskSummary> summarize(Collection<Long> userIds, LocalDate today) {
+        return transactions.execute(status -> {
+            rollForwardRows(userIds, today);
+
+            Map<Long, UserTaskSummary> summaries = new HashMap<>();
+            Set<Long> stale = new LinkedHashSet<>(userIds);
+            for (UserTaskStats stats : statsRepository.findAllById(userIds)) {
+                if (stats.getStatsDate().equals(today)) {
+                    summaries.put(stats.getUserId(), stats);
+                    stale.remove(stats.getUserId());
+                }
+            }
+            if (!stale.isEmpty()) {
+                summaries.putAll(rebuild(stale, today));
+            }
+            return summaries;
+        });
+    }
+
+    // --- Midnight roll-forward ---
+
+    /**
+     * Runs every 15 minutes (like the daily summary) and rolls every time zone that has
+     * passed midnight since its rows were last dated. Rows already current are not touched.
+     *
+     * Works through a zone in keyset pages of reconcile-page-size users, one short
+     * transaction each, so task writes only ever wait for one page's row locks.
+     */
+    @Scheduled(cron = "0 */15 * * * *", zone = "UTC")
+    public void rollForward() {
+        Instant now = Instant.now();
+        for (String zoneName : userRepository.findDistinctTimeZones()) {
+            LocalDate today;
+            try {
+                today = now.atZone(ZoneId.of(zoneName)).toLocalDate();
+            } catch (DateTimeException e) {
+                continue;
+            }
+            int rolled = 0;
+            long afterId = 0;
+            while (true) {
+                List<Long> userIds = statsRepository.findUserIdsToRollForward(zoneName, today, afterId, Limit.of(pageSize));
+                if (userIds.isEmpty()) break;
+                Integer pageRolled;
+                try (SqlStatementCounter.Scope ignored = statementCounter.open("job task-stats.roll-forward.page",
+                        ROLL_FORWARD_PAGE_BUDGET)) {
+                    pageRolled = transactions.execute(status -> rollForwardRows(userIds, today));
+                }
+                rolled += pageRolled != null ? pageRolled : 0;
+                afterId = userIds.get(userIds.size() - 1);
+            }
+            if (rolled > 0) {
+                log.info("🌙 Rolled task stats forward to {} for {} users in {}", today, rolled, zoneName);
+            }
+        }
+    }
+
+    /**
+     * Rolls the given users' rows dated before today forward to today: open tasks due in
+     * [statsDate, today) become overdue.
+     *
+     * Same lock order as task writes: the stats rows are locked first, then the tasks are
+     * counted with a plain (non-locking) read, which sees every write that committed
+     * before the lock was granted; later writes wait and apply their deltas on top.
+     *
+     * @return number of rows rolled forward
+     */
+    private int rollForwardRows(Collection<Long> userIds, LocalDate today) {
+        Map<LocalDate, List<Long>> byDate = statsRepository.findAllByIdForUpdate(userIds).stream()
+                .filter(stats -> stats.getStatsDate().isBefore(today))
+                .collect(Collectors.groupingBy(UserTaskStats::getStatsDate,
+                        Collectors.mapping(UserTaskStats::getUserId, Collectors.toList())));
+        if (byDate.isEmpty()) return 0;
+
+        Map<Long, List<Long>> byIncrement = new TreeMap<>();
+        for (Map.Entry<LocalDate, List<Long>> group : byDate.entrySet()) {
+            Map<Long, Long> newlyOverdue = taskRepository.countOpenDueBetweenByUserIds(group.getValue(), group.getKey(), today)
+                    .stream().collect(Collectors.toMap(UserTaskCount::getUserId, UserTaskCount::getTotal));
+            for (Long userId : group.getValue()) {
+                byIncrement.computeIfAbsent(newlyOverdue.getOrDefault(userId, 0L), increment -> new ArrayList<>()).add(userId);
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int rolled = 0;
+        for (Map.Entry<Long, List<Long>> group : byIncrement.entrySet()) {
+            rolled += statsRepository.rollForward(group.getValue(), group.getKey(), today, now);
+        }
+        return rolled;
+    }
+
+    // --- Reconciliation ---
+
+    /**
+     * Recounts every row from the task table, one locked page per transaction, and
+     * repairs the rows that drifted.
+     *
+     * @return number of users whose totals were wrong
+     */
+    @Scheduled(cron = "${taskly.stats.reconcile-cron:0 30 3 * * *}", zone = "UTC")
+    public int reconcile() {
+        int repaired = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> userIds = statsRepository.findUserIdsAfter(afterId, Limit.of(pageSize));
+            if (userIds.isEmpty()) break;
+            Integer pageRepaired;
+            try (SqlStatementCounter.Scope ignored = statementCounter.open("job task-stats.reconcile.page")) {
+                pageRepaired = transactions.execute(status -> reconcilePage(userIds));
+            }
+            repaired += pageRepaired != null ? pageRepaired : 0;
+            afterId = userIds.get(userIds.size() - 1);
+        }
+        if (repaired > 0) {
+            log.warn("🔧 Repaired task stats drift for {} users", repaired);
+        }
+        return repaired;
+    }
+
+    // Rows are locked first, so writes wait and apply their deltas on top of the recount
+    private int reconcilePage(List<Long> userIds) {
+        int repaired = 0;
+        Map<LocalDate, List<UserTaskStats>> byDate = statsRepository.findAllByIdForUpdate(userIds).stream()
+                .collect(Collectors.groupingBy(UserTaskStats::getStatsDate));
+        for (Map.Entry<LocalDate, List<UserTaskStats>> group : byDate.entrySet()) {
+            repaired += resetFromRecount(group.getValue(), group.getKey());
+        }
+        return repaired;
+    }
+
+    // Recounts the given rows as of statsDate and overwrites the ones that differ
+    private int resetFromRecount(List<UserTaskStats> rows, LocalDate statsDate) {
+        Map<Long, UserTaskSummary> recounted = recountByUser(rows.stream().map(UserTaskStats::getUserId).toList(), statsDate);
+        int changed = 0;
+        for (UserTaskStats stats : rows) {
+            UserTaskSummary recount = recounted.getOrDefault(stats.getUserId(), ZERO);
+            if (!stats.matches(recount) || !stats.getStatsDate().equals(statsDate)) {
+                stats.reset(recount.getCompleted(), recount.getOverdue(), recount.getRemaining(), statsDate);
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    // Missing rows are inserted, rows dated ahead of "today" are re-dated and recounted
+    private Map<Long, UserTaskStats> rebuild(Collection<Long> userIds, LocalDate today) {
+        Map<Long, UserTaskStats> rows = statsRepository.findAllByIdForUpdate(userIds).stream()
+                .collect(Collectors.toMap(UserTaskStats::getUserId, Function.identity()));
+        List<Long> missing = userIds.stream().filter(userId -> !rows.containsKey(userId)).toList();
+        if (!missing.isEmpty()) {
+            for (Long userId : userRepository.findExistingIds(missing)) {
+                rows.put(userId, statsRepository.save(new UserTaskStats(userId, today)));
+            }
+        }
+        resetFromRecount(List.copyOf(rows.values()), today);
+        return Map.copyOf(rows);
+    }
+
+    private Map<Long, UserTaskSummary> recountByUser(Collection<Long> userIds, LocalDate today) {
+        if (userIds.isEmpty()) return Map.of();
+        return taskRepository.summarizeByUserIds(userIds, today).stream()
+                .collect(Collectors.toMap(UserTaskSummary::getUserId, Function.identity()));
+    }
+
+    // Users without tasks do not appear in the recount GROUP BY
+    private static final UserTaskSummary ZERO = new UserTaskSummary() {
+        @Override
+        public Long getUserId() {
+            return null;
+        }
+
+        @Override
+        public long getCompleted() {
+            return 0;
+        }
+
+        @Override
+        public long getOverdue() {
+            return 0;
+        }
+
+        @Override
+        public long getRemaining() {
+            return 0;
+        }
+    };
+}
@@ -0,0 +1,31 @@
+package TaskManagerApp.Taskly.Service;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Authenticated principal that remembers the user's id and email resolved at login,
+ * so request handlers can reference the user without another users-table lookup.
+ */
+public class TasklyUserDetails extends User {
+
+    private final Long userId;
+    private final String email;
+
+    public TasklyUserDetails(Long userId, String username, String email, String password,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.userId = userId;
+        this.email = email;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
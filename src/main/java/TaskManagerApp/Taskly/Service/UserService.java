@@ -3,9 +3,14 @@ package TaskManagerApp.Taskly.Service;
         import TaskManagerApp.Taskly.Model.User;
         import TaskManagerApp.Taskly.Repository.UserRepository;
         import org.springframework.beans.factory.annotation.Autowired;
+        import org.springframework.security.core.Authentication;
         import org.springframework.security.crypto.password.PasswordEncoder;
         import org.springframework.stereotype.Service;
+        import org.springframework.transaction.annotation.Transactional;
 
+        import java.time.DateTimeException;
+        import java.time.LocalDate;
+        import java.time.ZoneId;
         import java.util.Optional;
 
 @Service
@@ -13,11 +18,14 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TaskStatsService taskStatsService;
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       TaskStatsService taskStatsService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.taskStatsService = taskStatsService;
     }
 
     // Register a new user
@@ -26,7 +34,8 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         return userRepository.save(user);
     }*/
-    public boolean registerUser(String username, String password, String email) {
+    @Transactional
+    public boolean registerUser(String username, String password, String email, String timeZone) {
         if (userRepository.existsByUsername(username)) return false;
         if (email != null && userRepository.existsByEmail(email)) return false;
 
@@ -34,18 +43,52 @@ public class UserService {
         user.setUsername(username);
         user.setPassword(passwordEncoder.encode(password));
         user.setEmail(email);
+        user.setTimeZone(normalizeTimeZone(timeZone));
         userRepository.save(user);
+        // 📊 Zeroed task stats row, dated in the user's own zone
+        taskStatsService.createFor(user.getId(), LocalDate.now(ZoneId.of(user.getTimeZone())));
 
         return true;
     }
 
 
 
+    // Falls back to the default zone when the browser sent nothing usable
+    private String normalizeTimeZone(String timeZone) {
+        if (timeZone == null || timeZone.isBlank()) return User.DEFAULT_TIME_ZONE;
+        try {
+            return ZoneId.of(timeZone.trim()).getId();
+        } catch (DateTimeException e) {
+            return User.DEFAULT_TIME_ZONE;
+        }
+    }
+
     // Find user by username
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
 
+    /**
+     * Resolves the logged-in user for a request handler.
+     * Uses the id carried by TasklyUserDetails to hand back a JPA reference, so no
+     * SELECT is issued unless a non-id property is read. Falls back to a lookup by
+     * username for principals created before this was introduced.
+     */
+    public User getCurrentUser(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof TasklyUserDetails principal) {
+            return userRepository.getReferenceById(principal.getUserId());
+        }
+        return userRepository.findByUsername(authentication.getName()).orElseThrow();
+    }
+
+    // Email of the logged-in user, read from the principal when available
+    public String getCurrentEmail(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof TasklyUserDetails principal) {
+            return principal.getEmail();
+        }
+        return getCurrentUser(authentication).getEmail();
+    }
+
     // Find user by email
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
@@ -0,0 +1,23 @@
+-- Lowercase copies of category/priority so case-insensitive filters compare a plain
+-- column instead of LOWER(column), which MySQL cannot serve from an index.
+ALTER TABLE tasks ADD COLUMN category_key VARCHAR(255);
+ALTER TABLE tasks ADD COLUMN priority_key VARCHAR(255);
+
+UPDATE tasks SET category_key = LOWER(category), priority_key = LOWER(priority);
+
+-- One composite index per TaskRepository query shape, always led by user_id.
+-- findByUserAndCategory / findByUserAndPriority
+CREATE INDEX idx_tasks_user_category_key ON tasks (user_id, category_key);
+CREATE INDEX idx_tasks_user_priority_key ON tasks (user_id, priority_key);
+
+-- findOverdueTasks (completed = false AND due_date < today)
+CREATE INDEX idx_tasks_user_completed_due ON tasks (user_id, completed, due_date);
+
+-- findTasksDueTodayOlder (due_date = today AND created_on < start of today)
+CREATE INDEX idx_tasks_user_due_created ON tasks (user_id, due_date, created_on);
+
+-- findTasksCreatedToday (created_on BETWEEN ...)
+CREATE INDEX idx_tasks_user_created ON tasks (user_id, created_on);
+
+-- countByUserGroupedByPriorityAndCategory: index-only GROUP BY for the sidebar
+CREATE INDEX idx_tasks_user_priority_category ON tasks (user_id, priority, category);
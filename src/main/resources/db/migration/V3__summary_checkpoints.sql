@@ -0,0 +1,8 @@
+-- Resume point for the daily summary job (see DailySummaryScheduler)
+CREATE TABLE summary_checkpoints (
+    job_key      VARCHAR(64) NOT NULL,
+    last_user_id BIGINT      NOT NULL,
+    completed    BIT         NOT NULL,
+    updated_on   DATETIME(6) NOT NULL,
+    PRIMARY KEY (job_key)
+);
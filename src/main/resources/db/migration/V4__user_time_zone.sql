@@ -0,0 +1,5 @@
+-- Per-user zone for the daily summary; existing users keep the old IST schedule
+ALTER TABLE users ADD COLUMN time_zone VARCHAR(64) NOT NULL DEFAULT 'Asia/Kolkata';
+
+-- Summary waves page through users of one zone by id
+CREATE INDEX idx_users_time_zone ON users (time_zone, id);
@@ -0,0 +1,11 @@
+-- Task ids come from a pooled table generator instead of AUTO_INCREMENT so Hibernate
+-- can batch inserts (IDENTITY forces one INSERT per row to read the key back).
+-- next_val is the top of the last block handed out; start above the existing ids.
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+);
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'tasks', COALESCE(MAX(id), 0) + 50 FROM tasks;
@@ -0,0 +1,2 @@
+-- Optimistic locking for tasks (Task.version): every write bumps it, stale edits are rejected
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
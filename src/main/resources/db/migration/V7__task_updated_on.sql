@@ -0,0 +1,5 @@
+-- Last write time of each task (Task.updatedOn). COUNT(*) + MAX(updated_on) per user is the
+-- task-list version behind the ETags of GET /api/tasks; the index makes it an index-only read.
+ALTER TABLE tasks ADD COLUMN updated_on DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+UPDATE tasks SET updated_on = created_on;
+CREATE INDEX idx_tasks_user_updated ON tasks (user_id, updated_on);
@@ -0,0 +1,25 @@
+-- Per-user completed / open / overdue totals (UserTaskStats), kept current by TaskService in the
+-- same transaction as every task write. overdue_count is as of stats_date, the user's local
+-- "today"; TaskStatsService rolls it forward after each local midnight.
+CREATE TABLE user_task_stats (
+    user_id         BIGINT      NOT NULL,
+    completed_count BIGINT      NOT NULL,
+    open_count      BIGINT      NOT NULL,
+    overdue_count   BIGINT      NOT NULL,
+    stats_date      DATE        NOT NULL,
+    updated_on      DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT fk_user_task_stats_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+-- Backfill from a full recount; rows dated ahead of a user's local date are rebuilt on first read
+INSERT INTO user_task_stats (user_id, completed_count, open_count, overdue_count, stats_date, updated_on)
+SELECT u.id,
+       COALESCE(SUM(CASE WHEN t.completed = TRUE THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(CASE WHEN t.completed = FALSE THEN 1 ELSE 0 END), 0),
+       COALESCE(SUM(CASE WHEN t.completed = FALSE AND t.due_date < CURRENT_DATE THEN 1 ELSE 0 END), 0),
+       CURRENT_DATE,
+       CURRENT_TIMESTAMP(6)
+FROM users u
+LEFT JOIN tasks t ON t.user_id = u.id
+GROUP BY u.id;
@@ -29,4 +29,90 @@ document.addEventListener('DOMContentLoaded', () => {
         const randomIndex = Math.floor(Math.random() * quotes.length);
         quoteEl.textContent = quotes[randomIndex];
     }
+
+    // --- 3️⃣ Live Task Feed (Server-Sent Events) ---
+    // Toggle/delete are sent with fetch and answered with 204; the server then pushes a
+    // change event to every open tab and only the affected cards and badges are patched.
+    if (document.querySelector('[data-priority-count]') && window.EventSource) {
+        const LIVE_HEADER = { 'X-Taskly-Live': '1' };
+        const MAX_CARD_FETCHES = 20; // bigger changes (bulk import, batch ops) just reload the page
+        let liveConnected = false;
+
+        const feed = new EventSource('/tasks/live');
+        feed.onopen = () => { liveConnected = true; };
+        feed.onerror = () => { liveConnected = false; }; // EventSource reconnects by itself
+
+        const countFor = (counts, key) => {
+            const match = Object.keys(counts || {}).find(name => name.toLowerCase() === key.toLowerCase());
+            return match ? counts[match] : 0;
+        };
+
+        const updateCounts = (event) => {
+            document.querySelectorAll('[data-priority-count]').forEach(badge => {
+                badge.textContent = countFor(event.priorityCounts, badge.dataset.priorityCount);
+            });
+            document.querySelectorAll('[data-category-count]').forEach(badge => {
+                badge.textContent = countFor(event.categoryCounts, badge.dataset.categoryCount);
+            });
+        };
+
+        const cardsFor = (id) => document.querySelectorAll(`[data-task-id="${id}"]`);
+
+        const fetchCard = async (id) => {
+            const response = await fetch(`/tasks/${id}/card`, { headers: LIVE_HEADER });
+            if (!response.ok) return null;
+            const template = document.createElement('template');
+            template.innerHTML = (await response.text()).trim();
+            return template.content.firstElementChild;
+        };
+
+        const onTaskEvent = (handler) => async (message) => {
+            const event = JSON.parse(message.data);
+            updateCounts(event);
+            if (event.ids.length > MAX_CARD_FETCHES) {
+                window.location.reload();
+                return;
+            }
+            for (const id of event.ids) {
+                await handler(id);
+            }
+        };
+
+        feed.addEventListener('created', onTaskEvent(async (id) => {
+            const list = document.querySelector('[data-task-list="added-today"]');
+            if (!list || cardsFor(id).length > 0) return;
+            const card = await fetchCard(id);
+            if (!card) return;
+            list.querySelector('[data-empty-placeholder]')?.remove();
+            list.querySelector('h2').after(card); // newest first, like the server-rendered list
+        }));
+
+        feed.addEventListener('updated', onTaskEvent(async (id) => {
+            const cards = cardsFor(id);
+            if (cards.length === 0) return;
+            const card = await fetchCard(id);
+            cards.forEach(old => {
+                // Completed tasks drop out of the overdue list, as they would on a full reload
+                if (!card || (card.dataset.completed === 'true' && old.closest('[data-task-list="overdue"]'))) {
+                    old.remove();
+                } else {
+                    old.replaceWith(card.cloneNode(true));
+                }
+            });
+        }));
+
+        feed.addEventListener('deleted', onTaskEvent(async (id) => {
+            cardsFor(id).forEach(card => card.remove());
+        }));
+
+        document.addEventListener('submit', async (e) => {
+            const form = e.target;
+            // Inline confirm() may have cancelled it; without a feed, submit the classic way
+            if (!form.matches('[data-live-action]') || e.defaultPrevented || !liveConnected) return;
+            e.preventDefault();
+
+            const response = await fetch(form.action, { method: 'POST', headers: LIVE_HEADER });
+            if (response.status !== 204) window.location.reload(); // e.g. session expired
+        });
+    }
 });
@@ -0,0 +1,95 @@
+package TaskManagerApp.Taskly.Benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Diffs two JMH JSON result files (-rf json) and prints the change of every benchmark
+ * and parameter combination present in both. Exits with 1 when any score got worse by
+ * more than the threshold, so a build can fail on a regression.
+ *
+ * Throughput scores are better when higher; average/sample/single-shot times when lower.
+ * Runs with the gc profiler also compare bytes allocated per operation (gc.alloc.rate.norm),
+ * where lower is better.
+ *
+ * Run with: mvn -Pbenchmarks test-compile exec:exec@compare -Dbenchmark.baseline=path/to/old.json
+ *   args: baseline.json current.json [threshold percent, default 10]
+ */
+public class BenchmarkComparison {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private record Score(String mode, double value, String unit) {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [threshold %]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> current = read(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : new TreeMap<>(current).entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null || !before.mode().equals(after.mode()) || before.value() == 0) {
+                System.out.printf("   %-70s %12.3f %s (new)%n", entry.getKey(), after.value(), after.unit());
+                continue;
+            }
+            double change = (after.value() - before.value()) / before.value() * 100;
+            // Positive = worse, whichever direction the mode counts in
+            double worse = "thrpt".equals(after.mode()) ? -change : change;
+            boolean regressed = worse > threshold;
+            if (regressed) regressions++;
+            System.out.printf("%s %-70s %12.3f -> %12.3f %s (%+.1f%%)%n", regressed ? "❌" : "  ",
+                    entry.getKey(), before.value(), after.value(), after.unit(), change);
+        }
+
+        if (regressions > 0) {
+            System.err.println("❌ " + regressions + " benchmarks regressed by more than " + threshold + "%");
+            System.exit(1);
+        }
+        System.out.println("✅ No benchmark regressed by more than " + threshold + "%");
+    }
+
+    // "Benchmark.method [param=value, ...] mode" -> primary score
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText()
+                    .replace("TaskManagerApp.Taskly.Benchmark.", ""));
+            JsonNode params = run.path("params");
+            if (!params.isMissingNode()) {
+                key.append(' ').append(new TreeMap<>(toMap(params)));
+            }
+            String mode = run.path("mode").asText();
+            key.append(' ').append(mode);
+
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(key.toString(), new Score(mode, metric.path("score").asDouble(), metric.path("scoreUnit").asText()));
+
+            JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION);
+            if (!allocation.isMissingNode()) {
+                // Counted like a time: less is better
+                scores.put(key + " " + ALLOCATION, new Score(ALLOCATION,
+                        allocation.path("score").asDouble(), allocation.path("scoreUnit").asText()));
+            }
+        }
+        return scores;
+    }
+
+    private static Map<String, String> toMap(JsonNode params) {
+        Map<String, String> values = new LinkedHashMap<>();
+        params.properties().forEach(field -> values.put(field.getKey(), field.getValue().asText()));
+        return values;
+    }
+}
@@ -0,0 +1,53 @@
+package TaskManagerApp.Taskly.Benchmark;
+
+import TaskManagerApp.Taskly.Service.NLPService;
+import TaskManagerApp.Taskly.Service.ParsedTask;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of NLPService.parseTaskDescription against the regex implementation it replaced.
+ *
+ * Run with: mvn -Pbenchmarks test-compile exec:exec
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NLPServiceBenchmark {
+
+    // Typical bulk-import lines (all parseable by the legacy implementation)
+    private static final String[] INPUTS = {
+            "Submit report tomorrow 5pm",
+            "Meeting with mentor next monday",
+            "Pay electricity bill by friday",
+            "Gym session today at 6:30 pm",
+            "Finish study assignment on wednesday 10am",
+            "Call the doctor tomorrow",
+            "Prepare project budget for Q3 review",
+            "Buy groceries after work today"
+    };
+
+    private final NLPService nlpService = new NLPService();
+    private final LegacyNLPParser legacyParser = new LegacyNLPParser();
+    private int next;
+
+    private String nextInput() {
+        String input = INPUTS[next];
+        next = (next + 1) % INPUTS.length;
+        return input;
+    }
+
+    @Benchmark
+    public ParsedTask singlePassParser() {
+        return nlpService.parseTaskDescription(nextInput());
+    }
+
+    @Benchmark
+    public ParsedTask legacyRegexParser() {
+        return legacyParser.parseTaskDescription(nextInput());
+    }
+}
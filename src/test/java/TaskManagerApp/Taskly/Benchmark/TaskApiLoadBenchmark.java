@@ -0,0 +1,122 @@
+package TaskManagerApp.Taskly.Benchmark;
+
+import TaskManagerApp.Taskly.Model.Task;
+import TaskManagerApp.Taskly.Model.User;
+import TaskManagerApp.Taskly.Repository.UserRepository;
+import TaskManagerApp.Taskly.Service.TaskService;
+import TaskManagerApp.Taskly.Service.UserService;
+import TaskManagerApp.Taskly.TasklyApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the dashboard (GET /home) with platform-thread vs virtual-thread request
+ * handling (spring.threads.virtual.enabled). Compare the Throughput scores and the p0.99
+ * line of the SampleTime results.
+ *
+ * Runs against in-memory H2 by default, where requests barely block, so the gap is small.
+ * For a realistic comparison point it at MySQL and raise the client threads past Tomcat's
+ * 200 platform workers, e.g.
+ *   java -Dtaskly.loadtest.url=jdbc:mysql://localhost:3306/taskly_load ... org.openjdk.jmh.Main TaskApiLoadBenchmark -t 400
+ *
+ * Run with: mvn -Pbenchmarks test-compile exec:exec
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class TaskApiLoadBenchmark {
+
+    private static final String USERNAME = "loadtest";
+    private static final String PASSWORD = "loadtest";
+    private static final int TASKS = 100;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest dashboard;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        String url = System.getProperty("taskly.loadtest.url",
+                "jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+
+        context = new SpringApplicationBuilder(TasklyApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=" + url,
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        seed();
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        login(port);
+        dashboard = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/home")).GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public int dashboard() throws Exception {
+        HttpResponse<byte[]> response = client.send(dashboard, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /home returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+    private void seed() {
+        UserService userService = context.getBean(UserService.class);
+        userService.registerUser(USERNAME, PASSWORD, USERNAME + "@example.com", "UTC");
+        User user = context.getBean(UserRepository.class).findByUsername(USERNAME).orElseThrow();
+
+        List<Task> tasks = new ArrayList<>();
+        String[] priorities = {"High", "Medium", "Low"};
+        String[] categories = {"Work", "Personal", "Finance"};
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(new Task("Load test task " + i, null, categories[i % 3], priorities[i % 3],
+                    LocalDate.now().plusDays(i % 5 - 2), null, user));
+        }
+        context.getBean(TaskService.class).createTasks(tasks, user);
+    }
+
+    private void login(int port) throws Exception {
+        HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=" + USERNAME + "&password=" + PASSWORD))
+                .build();
+        HttpResponse<Void> response = client.send(login, HttpResponse.BodyHandlers.discarding());
+        String location = response.headers().firstValue("Location").orElse("");
+        if (!location.endsWith("/home")) {
+            throw new IllegalStateException("Login failed, redirected to " + location);
+        }
+    }
+}
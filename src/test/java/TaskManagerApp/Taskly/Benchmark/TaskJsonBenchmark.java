@@ -0,0 +1,77 @@
+package TaskManagerApp.Taskly.Benchmark;
+
+import TaskManagerApp.Taskly.Model.Task;
+import TaskManagerApp.Taskly.Model.TaskView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the REST task payloads: a List<TaskView> response body, the NDJSON
+ * export (one object per line, as TaskController.exportTasks writes it) and reading a
+ * Task request body.
+ *
+ * The mapper comes from Jackson2ObjectMapperBuilder, which applies the same defaults as
+ * Spring Boot's auto-configured ObjectMapper (java.time module, ISO dates).
+ *
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Dbenchmark.include=TaskJsonBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskJsonBenchmark {
+
+    // 50 = one keyset page of /api/tasks, 1000 = an unpaged list of a heavy user
+    @Param({"50", "1000"})
+    public int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<TaskView> views;
+    private byte[] requestBody;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+        LocalDate today = LocalDate.now();
+        LocalDateTime createdOn = LocalDateTime.now();
+        views = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            views.add(new TaskView((long) i + 1, "Prepare project budget " + i,
+                    i % 3 == 0 ? "Numbers for the Q3 review" : null, i % 2 == 0 ? "Work" : "Personal",
+                    i % 3 == 0 ? "High" : "Medium", today.plusDays(i % 30 - 15), i % 2 == 0 ? LocalTime.of(17, 0) : null,
+                    i % 4 == 0, createdOn.minusHours(i), 0L));
+        }
+        requestBody = objectMapper.writeValueAsBytes(views.get(0));
+    }
+
+    @Benchmark
+    public byte[] writeList() throws IOException {
+        return objectMapper.writeValueAsBytes(views);
+    }
+
+    @Benchmark
+    public int writeNdjson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (TaskView view : views) {
+            out.write(objectMapper.writeValueAsBytes(view));
+            out.write('\n');
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public Task readTask() throws IOException {
+        return objectMapper.readValue(requestBody, Task.class);
+    }
+}
@@ -0,0 +1,165 @@
+package TaskManagerApp.Taskly.Benchmark;
+
+import TaskManagerApp.Taskly.Model.Task;
+import TaskManagerApp.Taskly.Model.TaskView;
+import TaskManagerApp.Taskly.Model.User;
+import TaskManagerApp.Taskly.Repository.UserRepository;
+import TaskManagerApp.Taskly.Service.DashboardStats;
+import TaskManagerApp.Taskly.Service.DashboardStatsService;
+import TaskManagerApp.Taskly.Service.TaskPage;
+import TaskManagerApp.Taskly.Service.TaskService;
+import TaskManagerApp.Taskly.Service.UserService;
+import TaskManagerApp.Taskly.TasklyApplication;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the TaskService reads behind the dashboard and the REST list endpoints, run
+ * through the full Spring/JPA stack against in-memory H2 (MySQL mode, Flyway schema).
+ *
+ * The measured user owns 'tasks' rows; NEIGHBOURS other users own as many again, so every
+ * query has to filter by user_id. Data is seeded from a fixed seed: due dates spread over
+ * +/- 30 days, about a third completed, skewed priorities and categories, and a creation
+ * time spread over the last 60 days (some of it today).
+ *
+ * The benchmarks profile runs JMH's gc profiler, so gc.alloc.rate.norm in the results is the
+ * memory each call costs (entities, dirty-checking snapshots, result rows).
+ *
+ * Point it at MySQL with -Dtaskly.benchmark.url=jdbc:mysql://... (plus username/password).
+ *
+ * Run with: mvn -Pbenchmarks test-compile exec:exec -Dbenchmark.include=TaskServiceBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskServiceBenchmark {
+
+    private static final int NEIGHBOURS = 4;
+    private static final long SEED = 42;
+
+    private static final String[] PRIORITIES = {"High", "Medium", "Medium", "Low", "Low", "Low"};
+    private static final String[] CATEGORIES = {"Work", "Work", "Work", "Personal", "Personal", "Study",
+            "Health", "Finance", "Shopping", "Errands"};
+    private static final String[] VERBS = {"Submit", "Review", "Call", "Prepare", "Pay", "Book", "Finish",
+            "Plan", "Email", "Buy"};
+    private static final String[] OBJECTS = {"quarterly report", "project budget", "dentist appointment",
+            "electricity bill", "team retrospective", "grocery list", "client proposal", "gym session",
+            "study notes", "flight tickets"};
+
+    @Param({"200", "5000"})
+    public int tasks;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private DashboardStatsService dashboardStatsService;
+    private User user;
+    private LocalDate today;
+
+    @Setup(Level.Trial)
+    public void start() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        String url = System.getProperty("taskly.benchmark.url",
+                "jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+
+        context = new SpringApplicationBuilder(TasklyApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + url,
+                        "spring.datasource.username=" + System.getProperty("taskly.benchmark.username", "sa"),
+                        "spring.datasource.password=" + System.getProperty("taskly.benchmark.password", ""),
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "taskly.search.warm-on-startup=false")
+                .run();
+        taskService = context.getBean(TaskService.class);
+        dashboardStatsService = context.getBean(DashboardStatsService.class);
+        today = LocalDate.now();
+
+        Random random = new Random(SEED);
+        user = seed("bench-user", random);
+        for (int i = 0; i < NEIGHBOURS; i++) {
+            seed("bench-neighbour-" + i, random);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    // GET /home without filters: the three grouped lists
+    @Benchmark
+    public void dashboardGroups(Blackhole blackhole) {
+        blackhole.consume(taskService.getTasksDueTodayOlder(user, today));
+        blackhole.consume(taskService.getTasksAddedToday(user, today));
+        blackhole.consume(taskService.getOverdueTasks(user, today));
+    }
+
+    @Benchmark
+    public List<TaskView> tasksByPriority() {
+        return taskService.getTasksByPriority(user, "High");
+    }
+
+    @Benchmark
+    public List<TaskView> tasksByCategory() {
+        return taskService.getTasksByCategory(user, "Work");
+    }
+
+    // GET /api/tasks (first keyset page)
+    @Benchmark
+    public TaskPage firstPage() {
+        return taskService.findPageByUser(user, null, 50);
+    }
+
+    // Sidebar counts straight from the database (the counter cache's miss path)
+    @Benchmark
+    public DashboardStats sidebarCounts() {
+        return dashboardStatsService.loadStats(user);
+    }
+
+    // Full entities, loaded read-only (no dirty-checking snapshots)
+    @Benchmark
+    public List<Task> allTasksAsEntities() {
+        return taskService.findByUser(user);
+    }
+
+    @Benchmark
+    public List<TaskView> search() {
+        return taskService.searchTasks(user, "report", 20);
+    }
+
+    private User seed(String username, Random random) {
+        context.getBean(UserService.class).registerUser(username, username, username + "@example.com", "UTC");
+        User owner = context.getBean(UserRepository.class).findByUsername(username).orElseThrow();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> batch = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            String title = VERBS[random.nextInt(VERBS.length)] + " " + OBJECTS[random.nextInt(OBJECTS.length)];
+            LocalDate dueDate = random.nextInt(10) == 0 ? null : today.plusDays(random.nextInt(61) - 30);
+            LocalTime dueTime = dueDate != null && random.nextBoolean() ? LocalTime.of(9 + random.nextInt(10), 0) : null;
+            Task task = new Task(title, random.nextInt(3) == 0 ? "Notes for " + title.toLowerCase() : null,
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], PRIORITIES[random.nextInt(PRIORITIES.length)],
+                    dueDate, dueTime, owner);
+            task.setCompleted(random.nextInt(3) == 0);
+            task.setCreatedOn(now.minusMinutes(random.nextInt(60 * 24 * 60)));
+            batch.add(task);
+        }
+        taskService.createTasks(batch, owner);
+        return owner;
+    }
+}
@@ -0,0 +1,113 @@
+package TaskManagerApp.Taskly.Config;
+
+import TaskManagerApp.Taskly.Model.Task;
+import TaskManagerApp.Taskly.Model.TaskView;
+import TaskManagerApp.Taskly.Model.User;
+import TaskManagerApp.Taskly.Repository.TaskRepository;
+import TaskManagerApp.Taskly.Repository.UserRepository;
+import TaskManagerApp.Taskly.Service.EmailService;
+import TaskManagerApp.Taskly.Service.TaskService;
+import TaskManagerApp.Taskly.Service.UserService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Primary and replica are two separate H2 databases, so a read shows which one it ran on
+@SpringBootTest(properties = {
+		"spring.datasource.url=" + ReplicaRoutingTests.PRIMARY_URL,
+		"taskly.datasource.replica.url=" + ReplicaRoutingTests.REPLICA_URL
+})
+class ReplicaRoutingTests {
+
+	static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+	static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+	private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+	static {
+		// The replica gets the schema by replication in production; Flyway only runs on the primary
+		Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+	}
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@MockitoBean
+	private EmailService emailService;
+
+	@Test
+	void readOnlyTaskServiceQueriesUseReplicaAndWritesUsePrimary() {
+		userService.registerUser("routing-user", "secret", "routing@example.com", User.DEFAULT_TIME_ZONE);
+		User user = userRepository.findByUsername("routing-user").orElseThrow();
+		Task written = taskService.createTask(new Task("Written to primary", null, "Work", "High", null, null, null), user);
+
+		// Not on the replica yet: the read-only list goes there, repository reads stay on the primary
+		assertTrue(taskService.findPageByUser(user, null, 50).items().isEmpty());
+		assertTrue(taskService.getTasksByPriority(user, "High").isEmpty());
+		assertEquals(1, taskRepository.findByUser(user).size());
+
+		replicate(user, written, "Replicated");
+
+		List<TaskView> fromReplica = taskService.findPageByUser(user, null, 50).items();
+		assertEquals(1, fromReplica.size());
+		assertEquals("Replicated", fromReplica.get(0).getTitle());
+		assertEquals("Written to primary", taskService.getTaskById(written.getId(), user).orElseThrow().getTitle());
+	}
+
+	@Test
+	void searchIndexIsBuiltFromPrimaryNotLaggingReplica() {
+		userService.registerUser("search-user", "secret", "search@example.com", User.DEFAULT_TIME_ZONE);
+		User user = userRepository.findByUsername("search-user").orElseThrow();
+		Task written = taskService.createTask(new Task("Quarterly report", null, "Work", "High", null, null, null), user);
+
+		// The index loads on this first search; the rows come from the replica, which lags
+		assertTrue(taskService.searchTasks(user, "report", 10).isEmpty());
+
+		replicate(user, written, "Quarterly report");
+		List<TaskView> found = taskService.searchTasks(user, "report", 10);
+		assertEquals(1, found.size());
+		assertEquals(written.getId(), found.get(0).getId());
+	}
+
+	@Test
+	void editFormReadsCurrentVersionFromPrimary() {
+		userService.registerUser("edit-user", "secret", "edit@example.com", User.DEFAULT_TIME_ZONE);
+		User user = userRepository.findByUsername("edit-user").orElseThrow();
+		Task written = taskService.createTask(new Task("Draft", null, "Work", "High", null, null, null), user);
+		replicate(user, written, "Draft");
+
+		Task edit = new Task("Final", null, "Work", "High", null, null, null);
+		edit.setVersion(written.getVersion());
+		Task updated = taskService.updateTask(written.getId(), edit, user).orElseThrow();
+
+		// The replica still has the old row; the form must carry the version the next submit is checked against
+		TaskView form = taskService.getTaskViewForEdit(written.getId(), user).orElseThrow();
+		assertEquals("Final", form.getTitle());
+		assertEquals(updated.getVersion(), form.getVersion());
+	}
+
+	private void replicate(User user, Task task, String title) {
+		replica.update("INSERT INTO users (id, username, email, password, time_zone) VALUES (?, ?, ?, ?, ?)",
+				user.getId(), user.getUsername(), user.getEmail(), user.getPassword(), user.getTimeZone());
+		replica.update("INSERT INTO tasks (id, title, category, priority, completed, created_on, user_id) "
+				+ "VALUES (?, ?, 'Work', 'High', FALSE, CURRENT_TIMESTAMP, ?)", task.getId(), title, user.getId());
+	}
+}
@@ -0,0 +1,55 @@
+package TaskManagerApp.Taskly.Controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void exposesRequestRepositoryAndAppMetricsToTheScrapeAccount() throws Exception {
+		mockMvc.perform(get("/login")).andExpect(status().isOk());
+
+		mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "scrape-secret")))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+				.andExpect(content().string(containsString("spring_data_repository_invocations_seconds")))
+				.andExpect(content().string(containsString("hibernate_statements_total")))
+				.andExpect(content().string(containsString("hikaricp_connections_usage_seconds_bucket")))
+				.andExpect(content().string(containsString("taskly_mail_queue_depth")))
+				.andExpect(content().string(containsString("taskly_mail_batch_latency_seconds_bucket")))
+				.andExpect(content().string(containsString("taskly_live_connections")))
+				.andExpect(content().string(containsString("taskly_search_match_seconds")))
+				.andExpect(content().string(containsString("cache_gets_total{application=\"Taskly\",cache=\"dashboard-stats\"")));
+
+	}
+
+	@Test
+	void metricsNeedTheScrapeAccountButHealthIsOpen() throws Exception {
+		mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+
+		mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong")))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+		// An app login is not enough
+		mockMvc.perform(get("/actuator/prometheus").with(user("someone")))
+				.andExpect(status().isForbidden());
+	}
+}
@@ -0,0 +1,70 @@
+package TaskManagerApp.Taskly.Controller;
+
+import TaskManagerApp.Taskly.Repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(StatementBudgetFilterTests.BudgetController.class)
+class StatementBudgetFilterTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@RestController
+	static class BudgetController {
+
+		private final UserRepository userRepository;
+
+		BudgetController(UserRepository userRepository) {
+			this.userRepository = userRepository;
+		}
+
+		// One lookup per "row": the N+1 shape
+		@GetMapping("/test/budget/n-plus-one")
+		String nPlusOne() {
+			for (long id = 1; id <= 5; id++) {
+				userRepository.findById(id);
+			}
+			return "done";
+		}
+
+		@GetMapping("/test/budget/within")
+		String within() {
+			userRepository.findById(1L);
+			return "done";
+		}
+
+		@StatementBudget(10)
+		@GetMapping("/test/budget/raised")
+		String raised() {
+			return nPlusOne();
+		}
+	}
+
+	@Test
+	void overBudgetRequestFails() {
+		IllegalStateException error = assertThrows(IllegalStateException.class,
+				() -> mockMvc.perform(get("/test/budget/n-plus-one").with(user("budget-user"))));
+		assertTrue(error.getMessage().contains("GET /test/budget/n-plus-one"));
+	}
+
+	@Test
+	void requestsWithinTheirBudgetSucceed() throws Exception {
+		mockMvc.perform(get("/test/budget/within").with(user("budget-user"))).andExpect(status().isOk());
+		mockMvc.perform(get("/test/budget/raised").with(user("budget-user"))).andExpect(status().isOk());
+	}
+}
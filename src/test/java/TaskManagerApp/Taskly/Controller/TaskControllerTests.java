@@ -0,0 +1,243 @@
+package TaskManagerApp.Taskly.Controller;
+
+import TaskManagerApp.Taskly.Model.Task;
+import TaskManagerApp.Taskly.Model.User;
+import TaskManagerApp.Taskly.Repository.TaskRepository;
+import TaskManagerApp.Taskly.Repository.UserRepository;
+import TaskManagerApp.Taskly.Service.TasklyUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	private TasklyUserDetails principal;
+
+	private User owner;
+
+	@BeforeEach
+	void setUp() {
+		owner = new User();
+		owner.setUsername("api-owner");
+		owner.setEmail("api-owner@example.com");
+		owner.setPassword("secret");
+		owner = userRepository.save(owner);
+
+		for (int i = 1; i <= 5; i++) {
+			taskRepository.save(new Task("Task " + i, null, "Work", "High", LocalDate.now(), null, owner));
+		}
+		principal = new TasklyUserDetails(owner.getId(), owner.getUsername(), owner.getEmail(),
+				owner.getPassword(), Collections.emptyList());
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void pagesThroughTasksWithCursor() throws Exception {
+		MvcResult first = mockMvc.perform(get("/api/tasks").param("size", "3").with(user(principal)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(3))
+				.andExpect(header().exists(TaskController.NEXT_CURSOR_HEADER))
+				.andReturn();
+
+		String cursor = first.getResponse().getHeader(TaskController.NEXT_CURSOR_HEADER);
+		mockMvc.perform(get("/api/tasks").param("size", "3").param("after", cursor).with(user(principal)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2))
+				.andExpect(header().doesNotExist(TaskController.NEXT_CURSOR_HEADER));
+	}
+
+	@Test
+	void answersNotModifiedUntilTheTaskListChanges() throws Exception {
+		MvcResult first = mockMvc.perform(get("/api/tasks/priority/high").with(user(principal)))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Cache-Control", "no-cache, private"))
+				.andReturn();
+		String etag = first.getResponse().getHeader("ETag");
+		assertTrue(etag.startsWith("W/\""));
+		assertEquals(1, first.getResponse().getHeaders("ETag").size());
+
+		mockMvc.perform(get("/api/tasks/priority/high").header("If-None-Match", etag).with(user(principal)))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+
+		Long id = taskRepository.findByUser(owner).get(0).getId();
+		mockMvc.perform(post("/tasks/toggle/{id}", id).with(user(principal)))
+				.andExpect(status().is3xxRedirection());
+
+		mockMvc.perform(get("/api/tasks/priority/high").header("If-None-Match", etag).with(user(principal)))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", not(etag)))
+				.andExpect(jsonPath("$.length()").value(5));
+	}
+
+	@Test
+	void searchesTitlesAndDescriptionsByPrefixAndTypo() throws Exception {
+		taskRepository.save(new Task("Quarterly report", "Send the numbers to finance", "Work", "High",
+				null, null, owner));
+		mockMvc.perform(get("/api/tasks/search").param("q", "rep").with(user(principal)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1));
+
+		String body = "{\"title\":\"Renew passport\",\"description\":\"Book an appointment\"}";
+		mockMvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON).content(body).with(user(principal)))
+				.andExpect(status().isOk());
+
+		MvcResult found = mockMvc.perform(get("/api/tasks/search").param("q", "pasport appoint").with(user(principal)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].title").value("Renew passport"))
+				.andReturn();
+
+		String id = found.getResponse().getContentAsString().replaceAll(".*\"id\":(\\d+).*", "$1");
+		mockMvc.perform(delete("/api/tasks/{id}", id).with(user(principal)))
+				.andExpect(status().isNoContent());
+		mockMvc.perform(get("/api/tasks/search").param("q", "passport").with(user(principal)))
+				.andExpect(jsonPath("$.length()").value(0));
+	}
+
+	@Test
+	void exportsTasksAsNdjson() throws Exception {
+		MvcResult started = mockMvc.perform(get("/api/tasks/export").with(user(principal)))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		String body = mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		assertEquals(5, body.lines().count());
+	}
+
+	@Test
+	void importsPlainTextLines() throws Exception {
+		String body = "Submit report tomorrow 5pm\n\nPay electricity bill friday\n" + "x".repeat(300) + "\n";
+
+		mockMvc.perform(post("/api/tasks/import").contentType(MediaType.TEXT_PLAIN).content(body).with(user(principal)))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.imported").value(2))
+				.andExpect(jsonPath("$.skipped").value(1));
+
+		mockMvc.perform(get("/api/tasks/category/Finance").with(user(principal)))
+				.andExpect(jsonPath("$[0].title").value("Pay electricity bill"))
+				.andExpect(jsonPath("$[0].priority").value("Medium"))
+				.andExpect(jsonPath("$[0].dueDate").exists());
+	}
+
+	@Test
+	void rejectsImportsOverTheLineCap() throws Exception {
+		String body = "Buy milk\n".repeat(1001);
+		long before = taskRepository.count();
+
+		mockMvc.perform(post("/api/tasks/import").contentType(MediaType.TEXT_PLAIN).content(body).with(user(principal)))
+				.andExpect(status().isPayloadTooLarge());
+		assertEquals(before, taskRepository.count());
+	}
+
+	@Test
+	void importsCsvWithOverrides() throws Exception {
+		String body = "task,priority,category\n\"Call mom, then dad\",Low,Family\nGym at 7:30,,\n";
+
+		mockMvc.perform(post("/api/tasks/import").contentType("text/csv").content(body).with(user(principal)))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.imported").value(2));
+
+		mockMvc.perform(get("/api/tasks/category/Family").with(user(principal)))
+				.andExpect(jsonPath("$[0].title").value("Call mom, then dad"))
+				.andExpect(jsonPath("$[0].priority").value("Low"));
+		mockMvc.perform(get("/api/tasks/category/Health").with(user(principal)))
+				.andExpect(jsonPath("$[0].title").value("Gym"))
+				.andExpect(jsonPath("$[0].dueTime").exists());
+	}
+
+	@Test
+	void skipsCsvRowsWithOverlongColumns() throws Exception {
+		String body = "Pay rent,High,Home\nWater plants,Low," + "x".repeat(300) + "\nFile taxes," + "y".repeat(300) + ",Home\n";
+
+		mockMvc.perform(post("/api/tasks/import").contentType("text/csv").content(body).with(user(principal)))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.imported").value(1))
+				.andExpect(jsonPath("$.skipped").value(2));
+	}
+
+	@Test
+	void batchOperationsOnlyTouchOwnedTasks() throws Exception {
+		User other = new User();
+		other.setUsername("api-other");
+		other.setEmail("api-other@example.com");
+		other.setPassword("secret");
+		other = userRepository.save(other);
+		Task foreign = taskRepository.save(new Task("Foreign", null, "Work", "High", LocalDate.now(), null, other));
+
+		String ids = taskRepository.findByUser(owner).stream().limit(3)
+				.map(task -> task.getId().toString()).collect(Collectors.joining(","));
+		String body = "{\"ids\": [" + ids + "," + foreign.getId() + "], \"priority\": \"Low\"}";
+
+		mockMvc.perform(post("/api/tasks/batch/complete").contentType(MediaType.APPLICATION_JSON).content(body).with(user(principal)))
+				.andExpect(jsonPath("$.affected").value(3));
+		mockMvc.perform(post("/api/tasks/batch/priority").contentType(MediaType.APPLICATION_JSON).content(body).with(user(principal)))
+				.andExpect(jsonPath("$.affected").value(3));
+		mockMvc.perform(get("/api/tasks/priority/low").with(user(principal)))
+				.andExpect(jsonPath("$.length()").value(3))
+				.andExpect(jsonPath("$[0].completed").value(true));
+
+		mockMvc.perform(post("/api/tasks/batch/delete").contentType(MediaType.APPLICATION_JSON).content(body).with(user(principal)))
+				.andExpect(jsonPath("$.affected").value(3));
+		assertEquals(2, taskRepository.findByUser(owner).size());
+		assertEquals("High", taskRepository.findById(foreign.getId()).orElseThrow().getPriority());
+	}
+
+	@Test
+	void cannotUpdateAnotherUsersTask() throws Exception {
+		User other = new User();
+		other.setUsername("api-intruder");
+		other.setEmail("api-intruder@example.com");
+		other.setPassword("secret");
+		other = userRepository.save(other);
+		TasklyUserDetails intruder = new TasklyUserDetails(other.getId(), other.getUsername(), other.getEmail(),
+				other.getPassword(), Collections.emptyList());
+
+		Long id = taskRepository.findByUser(owner).get(0).getId();
+		mockMvc.perform(put("/api/tasks/{id}", id).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"title\": \"Hijacked\"}").with(user(intruder)))
+				.andExpect(status().isNotFound());
+
+		assertEquals("Task 1", taskRepository.findById(id).orElseThrow().getTitle());
+	}
+}
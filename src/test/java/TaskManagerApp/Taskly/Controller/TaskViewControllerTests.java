@@ -0,0 +1,174 @@
+package TaskManagerApp.Taskly.Controller;
+
+import TaskManagerApp.Taskly.Model.Task;
+import TaskManagerApp.Taskly.Model.User;
+import TaskManagerApp.Taskly.Repository.TaskRepository;
+import TaskManagerApp.Taskly.Repository.UserRepository;
+import TaskManagerApp.Taskly.Service.TasklyUserDetails;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskViewControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private TasklyUserDetails principal;
+	private Task overdue;
+
+	@BeforeEach
+	void setUp() {
+		User owner = new User();
+		owner.setUsername("view-owner");
+		owner.setEmail("view-owner@example.com");
+		owner.setPassword("secret");
+		owner = userRepository.save(owner);
+
+		overdue = taskRepository.save(new Task("Pay rent", null, "Finance", "High",
+				LocalDate.now().minusDays(2), null, owner));
+		taskRepository.save(new Task("Write report", null, "Work", "Low", LocalDate.now(), null, owner));
+
+		principal = new TasklyUserDetails(owner.getId(), owner.getUsername(), owner.getEmail(),
+				owner.getPassword(), Collections.emptyList());
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	private double homeStatements() throws Exception {
+		mockMvc.perform(get("/home").with(user(principal))).andExpect(status().isOk());
+		DistributionSummary statements = meterRegistry.get("taskly.sql.statements").tag("scope", "GET /home").summary();
+		return statements.totalAmount();
+	}
+
+	@Test
+	void dashboardStatementCountDoesNotGrowWithTasks() throws Exception {
+		homeStatements(); // warm the sidebar cache
+		double before = homeStatements();
+		double fewTasks = homeStatements() - before;
+
+		User owner = overdue.getUser();
+		for (int i = 0; i < 20; i++) {
+			taskRepository.save(new Task("Extra " + i, null, i % 2 == 0 ? "Work" : "Health", "Medium",
+					LocalDate.now().minusDays(i % 3), null, owner));
+		}
+		double after = homeStatements();
+		double manyTasks = homeStatements() - after;
+
+		assertTrue(fewTasks > 0);
+		assertEquals(fewTasks, manyTasks);
+	}
+
+	@Test
+	void rendersDashboardWithSidebarCounts() throws Exception {
+		mockMvc.perform(get("/home").with(user(principal)))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("data-priority-count=\"High\">1</span>")))
+				.andExpect(content().string(containsString("data-category-count=\"Work\">1</span>")))
+				.andExpect(content().string(containsString("Pay rent")))
+				.andExpect(content().string(containsString("Finance")));
+	}
+
+	@Test
+	void cachedSidebarFollowsWrites() throws Exception {
+		mockMvc.perform(get("/tasks/add").with(user(principal)))
+				.andExpect(content().string(containsString("data-priority-count=\"High\">1</span>")));
+
+		mockMvc.perform(post("/tasks/delete/{id}", overdue.getId()).with(user(principal)))
+				.andExpect(status().is3xxRedirection());
+
+		mockMvc.perform(get("/home").with(user(principal)))
+				.andExpect(content().string(containsString("data-priority-count=\"High\">0</span>")))
+				.andExpect(content().string(not(containsString("category=Finance"))));
+	}
+
+	@Test
+	void rendersEditForm() throws Exception {
+		mockMvc.perform(get("/tasks/edit/{id}", overdue.getId()).with(user(principal)))
+				.andExpect(status().isOk())
+				.andExpect(view().name("edit-task"))
+				.andExpect(content().string(containsString("Pay rent")));
+	}
+
+	@Test
+	void togglesCompletionAndBumpsVersion() throws Exception {
+		mockMvc.perform(post("/tasks/toggle/{id}", overdue.getId()).with(user(principal)))
+				.andExpect(redirectedUrl("/home"));
+
+		Task toggled = taskRepository.findById(overdue.getId()).orElseThrow();
+		assertTrue(toggled.isCompleted());
+		assertEquals(overdue.getVersion() + 1, toggled.getVersion());
+	}
+
+	@Test
+	void rejectsEditFromStaleForm() throws Exception {
+		// Another tab toggled the task after this form was rendered
+		mockMvc.perform(post("/tasks/toggle/{id}", overdue.getId()).with(user(principal)));
+
+		mockMvc.perform(post("/tasks/edit/{id}", overdue.getId()).with(user(principal))
+						.param("title", "Pay rent today")
+						.param("version", String.valueOf(overdue.getVersion())))
+				.andExpect(redirectedUrl("/tasks/edit/" + overdue.getId() + "?conflict"));
+
+		assertEquals("Pay rent", taskRepository.findById(overdue.getId()).orElseThrow().getTitle());
+	}
+
+	@Test
+	void liveToggleAnswersNoContentAndPushesEvent() throws Exception {
+		MvcResult feed = mockMvc.perform(get("/tasks/live").with(user(principal)))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(post("/tasks/toggle/{id}", overdue.getId()).header(TaskViewController.LIVE_HEADER, "1")
+						.with(user(principal)))
+				.andExpect(status().isNoContent());
+
+		String expectedIds = "\"ids\":[" + overdue.getId() + "]";
+		String events = "";
+		for (int i = 0; i < 50 && !events.contains(expectedIds); i++) {
+			Thread.sleep(50);
+			events = feed.getResponse().getContentAsString();
+		}
+		assertTrue(events.contains("event:updated"), events);
+		assertTrue(events.contains(expectedIds), events);
+
+		mockMvc.perform(get("/tasks/{id}/card", overdue.getId()).with(user(principal)))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("data-task-id=\"" + overdue.getId() + "\"")))
+				.andExpect(content().string(containsString("data-completed=\"true\"")));
+	}
+}
@@ -0,0 +1,107 @@
+package TaskManagerApp.Taskly.Service;
+
+import TaskManagerApp.Taskly.Model.SummaryCheckpoint;
+import TaskManagerApp.Taskly.Model.Task;
+import TaskManagerApp.Taskly.Model.User;
+import TaskManagerApp.Taskly.Repository.SummaryCheckpointRepository;
+import TaskManagerApp.Taskly.Repository.TaskRepository;
+import TaskManagerApp.Taskly.Repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {"taskly.summary.page-size=2", "taskly.summary.parallelism=2",
+		"taskly.summary.jitter=0s"})
+class DailySummarySchedulerTests {
+
+	@Autowired
+	private DailySummaryScheduler scheduler;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private SummaryCheckpointRepository checkpointRepository;
+
+	@MockitoBean
+	private EmailService emailService;
+
+	private User user(String name) {
+		User user = new User();
+		user.setUsername(name);
+		user.setEmail(name + "@example.com");
+		user.setPassword("secret");
+		return userRepository.save(user);
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+		checkpointRepository.deleteAll();
+	}
+
+	@Test
+	void sendsOneSummaryPerUserOfTheWaveWithSqlCountsAndCheckpoints() {
+		User busy = user("summary-busy");
+		LocalDate today = LocalDate.now();
+		Task done = new Task("Done", null, "Work", "High", today, null, busy);
+		done.setCompleted(true);
+		taskRepository.save(done);
+		taskRepository.save(new Task("Late", null, "Work", "High", today.minusDays(1), null, busy));
+		taskRepository.save(new Task("Soon", null, "Work", "Low", today.plusDays(1), null, busy));
+		for (int i = 0; i < 4; i++) {
+			user("summary-idle-" + i);
+		}
+		User elsewhere = user("summary-elsewhere");
+		elsewhere.setTimeZone("America/New_York");
+		userRepository.save(elsewhere);
+
+		scheduler.runWave(User.DEFAULT_TIME_ZONE, today).join();
+
+		verify(emailService, times(5)).sendEmail(anyString(), anyString(), anyString());
+		verify(emailService).sendEmail(eq("summary-busy@example.com"), anyString(),
+				contains("Completed Tasks: 1\n⏳ Remaining Tasks: 1\n⚠️ Overdue Tasks: 1"));
+		assertTrue(checkpointRepository.findById("daily-summary:" + today + ":" + User.DEFAULT_TIME_ZONE)
+				.orElseThrow().isCompleted());
+
+		// A second run of the same wave is a no-op
+		scheduler.runWave(User.DEFAULT_TIME_ZONE, today).join();
+		verify(emailService, times(5)).sendEmail(anyString(), anyString(), anyString());
+	}
+
+	@Test
+	void resumesAWaveAfterItsCheckpoint() {
+		LocalDate today = LocalDate.now();
+		User first = user("resume-0");
+		User second = user("resume-1");
+		for (int i = 2; i < 5; i++) {
+			user("resume-" + i);
+		}
+		SummaryCheckpoint checkpoint = new SummaryCheckpoint("daily-summary:" + today + ":" + User.DEFAULT_TIME_ZONE);
+		checkpoint.setLastUserId(second.getId());
+		checkpointRepository.save(checkpoint);
+
+		scheduler.runWave(User.DEFAULT_TIME_ZONE, today).join();
+
+		verify(emailService, times(3)).sendEmail(anyString(), anyString(), anyString());
+		verify(emailService, never()).sendEmail(eq(first.getEmail()), anyString(), anyString());
+		verify(emailService, never()).sendEmail(eq(second.getEmail()), anyString(), anyString());
+		assertTrue(checkpointRepository.findById(checkpoint.getJobKey()).orElseThrow().isCompleted());
+	}
+}
@@ -0,0 +1,67 @@
+package TaskManagerApp.Taskly.Service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DashboardStatsCacheTests {
+
+	private static DashboardStats stats(long high, long work) {
+		return new DashboardStats(Map.of("High", high), Map.of("Work", work));
+	}
+
+	@Test
+	void servesWritesIncrementallyAfterFirstLoad() {
+		DashboardStatsCache cache = new DashboardStatsCache(true, 10, Duration.ofMinutes(10));
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get(1L, () -> {
+			loads.incrementAndGet();
+			return stats(2, 1);
+		});
+		cache.recordCreated(1L, "high", "Personal");
+		cache.recordChanged(1L, "High", "Work", "Low", "Work");
+		DashboardStats current = cache.get(1L, () -> {
+			loads.incrementAndGet();
+			return stats(0, 0);
+		});
+
+		assertEquals(1, loads.get());
+		assertEquals(2, current.priorityCount("High"));
+		assertEquals(1, current.priorityCount("Low"));
+		assertEquals(1, current.categoryCount("Work"));
+		assertEquals(1, current.categoryCount("Personal"));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedUser() {
+		DashboardStatsCache cache = new DashboardStatsCache(true, 2, Duration.ofMinutes(10));
+
+		cache.get(1L, () -> stats(1, 1));
+		cache.get(2L, () -> stats(1, 1));
+		cache.get(1L, () -> stats(1, 1));
+		cache.get(3L, () -> stats(1, 1));
+
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+		cache.get(1L, () -> stats(1, 1));
+		assertEquals(2, cache.getHitCount());
+	}
+
+	@Test
+	void disabledCacheAlwaysReadsThrough() {
+		DashboardStatsCache cache = new DashboardStatsCache(false, 10, Duration.ofMinutes(10));
+
+		cache.get(1L, () -> stats(1, 1));
+		DashboardStats current = cache.get(1L, () -> stats(5, 5));
+
+		assertEquals(5, current.priorityCount("High"));
+		assertEquals(0, cache.size());
+	}
+}
@@ -0,0 +1,92 @@
+package TaskManagerApp.Taskly.Service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmailDeliveryQueueTests {
+
+	@RegisterExtension
+	static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+	private EmailDeliveryQueue deliveryQueue;
+
+	private static JavaMailSenderImpl mailSender() {
+		JavaMailSenderImpl sender = new JavaMailSenderImpl();
+		sender.setHost("localhost");
+		sender.setPort(ServerSetupTest.SMTP.getPort());
+		return sender;
+	}
+
+	private static SimpleMailMessage message(int i) {
+		SimpleMailMessage message = new SimpleMailMessage();
+		message.setFrom("taskly@example.com");
+		message.setTo("user" + i + "@example.com");
+		message.setSubject("Summary " + i);
+		message.setText("Body " + i);
+		return message;
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		if (deliveryQueue != null) {
+			deliveryQueue.stop();
+		}
+	}
+
+	@Test
+	void deliversQueuedMessagesInBatches() throws InterruptedException {
+		deliveryQueue = new EmailDeliveryQueue(mailSender(), 100, 1, 10, Duration.ofSeconds(1));
+		deliveryQueue.start();
+
+		for (int i = 0; i < 25; i++) {
+			deliveryQueue.enqueue(message(i));
+		}
+
+		assertTrue(greenMail.waitForIncomingEmail(10_000, 25));
+		deliveryQueue.stop();
+		assertEquals(25, deliveryQueue.getSentCount());
+		assertEquals(0, deliveryQueue.getFailedCount());
+		assertTrue(deliveryQueue.getBatchCount() < 25, "messages should share SMTP sessions");
+	}
+
+	@Test
+	void rejectsWhenQueueStaysFull() throws InterruptedException {
+		CountDownLatch sending = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		JavaMailSenderImpl blockedSender = new JavaMailSenderImpl() {
+			@Override
+			public void send(SimpleMailMessage... messages) {
+				sending.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		deliveryQueue = new EmailDeliveryQueue(blockedSender, 1, 1, 10, Duration.ofMillis(50));
+		deliveryQueue.start();
+
+		deliveryQueue.enqueue(message(1));
+		assertTrue(sending.await(5, TimeUnit.SECONDS));
+		deliveryQueue.enqueue(message(2));
+
+		assertThrows(MailSendException.class, () -> deliveryQueue.enqueue(message(3)));
+		assertEquals(1, deliveryQueue.getRejectedCount());
+		release.countDown();
+	}
+}
@@ -0,0 +1,64 @@
+package TaskManagerApp.Taskly.Service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class NLPServiceTests {
+
+	// A Wednesday
+	private static final LocalDate TODAY = LocalDate.of(2026, 10, 14);
+
+	private final NLPService nlpService = new NLPService(
+			Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+
+	@Test
+	void parsesRelativeDayAndTime() {
+		ParsedTask parsed = nlpService.parseTaskDescription("Submit report tomorrow 5pm");
+
+		assertEquals("Submit report", parsed.title());
+		assertEquals(LocalDateTime.of(2026, 10, 15, 17, 0), parsed.dueDateTime());
+		assertEquals("Personal", parsed.category());
+	}
+
+	@Test
+	void parsesNextWeekdayAndCategory() {
+		ParsedTask parsed = nlpService.parseTaskDescription("Meeting with mentor next monday");
+
+		assertEquals("Meeting with mentor", parsed.title());
+		assertEquals(LocalDate.of(2026, 10, 19).atStartOfDay(), parsed.dueDateTime());
+		assertEquals("Work", parsed.category());
+	}
+
+	@Test
+	void dropsConnectorsOnlyBeforeDatesAndTimes() {
+		ParsedTask parsed = nlpService.parseTaskDescription("Check in with the gym at 6:30 pm");
+
+		assertEquals("Check in with the gym", parsed.title());
+		assertEquals(LocalDateTime.of(2026, 10, 14, 18, 30), parsed.dueDateTime());
+		assertEquals("Health", parsed.category());
+	}
+
+	@Test
+	void ignoresBareNumbersAndDayLikeWords() {
+		ParsedTask parsed = nlpService.parseTaskDescription("Read 50 pages before birthday");
+
+		assertEquals("Read 50 pages before birthday", parsed.title());
+		assertNull(parsed.dueDateTime());
+	}
+
+	@Test
+	void sameWeekdayMeansNextWeek() {
+		ParsedTask parsed = nlpService.parseTaskDescription("Pay bills wednesday.");
+
+		assertEquals("Pay bills", parsed.title());
+		assertEquals(LocalDate.of(2026, 10, 21).atStartOfDay(), parsed.dueDateTime());
+		assertEquals("Finance", parsed.category());
+	}
+}
@@ -0,0 +1,46 @@
+package TaskManagerApp.Taskly.Service;
+
+import TaskManagerApp.Taskly.Repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class SqlStatementCounterTests {
+
+	@Autowired
+	private SqlStatementCounter statementCounter;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void failsAScopeThatRepeatsAStatementPerRow() {
+		SqlStatementCounter.Scope scope = statementCounter.open("n-plus-one");
+		for (long id = 1; id <= 5; id++) {
+			userRepository.findById(id);
+		}
+		assertEquals(5, scope.getCount());
+
+		IllegalStateException error = assertThrows(IllegalStateException.class, scope::close);
+		assertTrue(error.getMessage().contains("most repeated (5x)"));
+	}
+
+	@Test
+	void failsAScopeOverItsBudgetAndStopsCountingWhenClosed() {
+		SqlStatementCounter.Scope scope = statementCounter.open("over-budget", 1);
+		userRepository.count();
+		userRepository.findDistinctTimeZones();
+		assertThrows(IllegalStateException.class, scope::close);
+
+		SqlStatementCounter.Scope within = statementCounter.open("within-budget", 1);
+		userRepository.count();
+		within.close();
+		userRepository.count();
+		assertEquals(1, within.getCount());
+	}
+}
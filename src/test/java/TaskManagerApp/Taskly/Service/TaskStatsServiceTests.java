@@ -0,0 +1,258 @@
+package TaskManagerApp.Taskly.Service;
+
+import TaskManagerApp.Taskly.Model.Task;
+import TaskManagerApp.Taskly.Model.TaskState;
+import TaskManagerApp.Taskly.Model.User;
+import TaskManagerApp.Taskly.Model.UserTaskStats;
+import TaskManagerApp.Taskly.Repository.TaskRepository;
+import TaskManagerApp.Taskly.Repository.UserRepository;
+import TaskManagerApp.Taskly.Repository.UserTaskStatsRepository;
+import TaskManagerApp.Taskly.Repository.UserTaskSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+// Page size 1 so the roll-forward and reconciliation walk several pages
+@SpringBootTest(properties = "taskly.stats.reconcile-page-size=1")
+class TaskStatsServiceTests {
+
+	@Autowired
+	private TaskStatsService taskStatsService;
+
+	@Autowired
+	private TaskService taskService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	// Spy so a test can remove a row between the locked read and the UPDATE/DELETE
+	@MockitoSpyBean
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private UserTaskStatsRepository statsRepository;
+
+	@Autowired
+	private DashboardStatsService dashboardStatsService;
+
+	@Autowired
+	private DashboardStatsCache dashboardStatsCache;
+
+	@MockitoBean
+	private EmailService emailService;
+
+	private User user;
+	private LocalDate today;
+
+	@BeforeEach
+	void setUp() {
+		userService.registerUser("stats-user", "secret", "stats@example.com", User.DEFAULT_TIME_ZONE);
+		user = userRepository.findByUsername("stats-user").orElseThrow();
+		today = LocalDate.now(ZoneId.of(User.DEFAULT_TIME_ZONE));
+	}
+
+	@AfterEach
+	void tearDown() {
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	private Task task(String title, LocalDate dueDate) {
+		return new Task(title, null, "Work", "High", dueDate, null, user);
+	}
+
+	private void assertMatchesRecount() {
+		UserTaskStats stats = statsRepository.findById(user.getId()).orElseThrow();
+		List<UserTaskSummary> recount = taskRepository.summarizeByUserIds(List.of(user.getId()), today);
+		// No tasks left: no GROUP BY row, everything is zero
+		assertEquals(recount.isEmpty() ? 0 : recount.get(0).getCompleted(), stats.getCompleted());
+		assertEquals(recount.isEmpty() ? 0 : recount.get(0).getOverdue(), stats.getOverdue());
+		assertEquals(recount.isEmpty() ? 0 : recount.get(0).getRemaining(), stats.getRemaining());
+	}
+
+	@Test
+	void everyTaskWriteKeepsTheRowEqualToARecount() {
+		Task late = taskService.createTask(task("Late", today.minusDays(2)), user);
+		Task soon = taskService.createTask(task("Soon", today.plusDays(1)), user);
+		List<Task> imported = taskService.createTasks(List.of(task("A", null), task("B", today.minusDays(1))), user);
+		assertMatchesRecount();
+
+		taskService.toggleCompleted(late.getId(), user.getId());
+		assertMatchesRecount();
+
+		Task edit = taskService.getTaskById(soon.getId(), user).orElseThrow();
+		edit.setDueDate(today.minusDays(3));
+		taskService.updateTask(soon.getId(), edit, user);
+		assertMatchesRecount();
+
+		taskService.setCompleted(List.of(imported.get(0).getId(), imported.get(1).getId()), true, user);
+		assertMatchesRecount();
+
+		taskService.deleteTasks(List.of(late.getId(), imported.get(0).getId()), user);
+		taskService.deleteOwned(soon.getId(), user.getId());
+		assertMatchesRecount();
+
+		UserTaskSummary summary = taskStatsService.summarize(List.of(user.getId()), today).get(user.getId());
+		assertEquals(1, summary.getCompleted());
+		assertEquals(0, summary.getOverdue());
+		assertEquals(0, summary.getRemaining());
+	}
+
+	@Test
+	void writesThatHitNoRowLeaveTheTotalsAlone() {
+		Task open = taskService.createTask(task("Open", today.minusDays(1)), user);
+		taskService.deleteOwned(open.getId(), user.getId());
+
+		assertFalse(taskService.toggleCompleted(open.getId(), user.getId()));
+		assertFalse(taskService.deleteOwned(open.getId(), user.getId()));
+		assertEquals(0, taskService.setCompleted(List.of(open.getId()), true, user));
+		assertEquals(0, taskService.deleteTasks(List.of(open.getId()), user));
+		assertMatchesRecount();
+	}
+
+	@Test
+	void rowGoneBetweenLockedReadAndWriteFallsBackToARecount() {
+		Task kept = taskService.createTask(task("Kept", today.minusDays(1)), user);
+		Task vanishing = taskService.createTask(task("Vanishing", today.minusDays(1)), user);
+
+		// The locked read still reports both rows, but the statement that follows only finds one
+		doAnswer(invocation -> {
+			jdbcTemplate.update("DELETE FROM tasks WHERE id = ?", vanishing.getId());
+			return List.of(TaskState.of(kept), TaskState.of(vanishing));
+		}).when(taskRepository).findStatesByUserIdAndIdInForUpdate(any(), any());
+
+		assertEquals(1, taskService.setCompleted(List.of(kept.getId(), vanishing.getId()), true, user));
+		assertMatchesRecount();
+	}
+
+	@Test
+	void concurrentToggleAndDeleteOfTheSameTaskKeepTheTotalsExact() throws Exception {
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			tasks.add(taskService.createTask(task("Race " + i, today.minusDays(i % 3)), user));
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> writes = new ArrayList<>();
+			for (Task task : tasks) {
+				writes.add(pool.submit(() -> {
+					start.await();
+					return taskService.toggleCompleted(task.getId(), user.getId());
+				}));
+				writes.add(pool.submit(() -> {
+					start.await();
+					return taskService.deleteOwned(task.getId(), user.getId());
+				}));
+			}
+			start.countDown();
+			for (Future<?> write : writes) {
+				write.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		assertEquals(0, taskRepository.count());
+		assertMatchesRecount();
+	}
+
+	@Test
+	void deletesCountTasksOutOfTheCachedSidebarGroups() {
+		Task single = taskService.createTask(new Task("Single", null, "Finance", "High", null, null, user), user);
+		Task first = taskService.createTask(new Task("First", null, "Work", "Low", null, null, user), user);
+		Task second = taskService.createTask(new Task("Second", null, "Work", "High", null, null, user), user);
+		taskService.createTask(new Task("Kept", null, "Work", "High", null, null, user), user);
+		dashboardStatsService.getStats(user);
+		long misses = dashboardStatsCache.getMissCount();
+
+		taskService.deleteOwned(single.getId(), user.getId());
+		taskService.deleteTasks(List.of(first.getId(), second.getId()), user);
+
+		// Still served from the cache, and equal to a fresh GROUP BY
+		assertEquals(dashboardStatsService.loadStats(user), dashboardStatsService.getStats(user));
+		assertEquals(misses, dashboardStatsCache.getMissCount());
+	}
+
+	@Test
+	void midnightRollForwardMovesTasksDueYesterdayIntoOverdue() {
+		UserTaskStats stats = statsRepository.findById(user.getId()).orElseThrow();
+		stats.reset(0, 0, 0, today.minusDays(1));
+		statsRepository.save(stats);
+		taskService.createTask(task("Due yesterday", today.minusDays(1)), user);
+
+		UserTaskSummary summary = taskStatsService.summarize(List.of(user.getId()), today).get(user.getId());
+
+		assertEquals(1, summary.getOverdue());
+		assertEquals(0, summary.getRemaining());
+		assertEquals(today, statsRepository.findById(user.getId()).orElseThrow().getStatsDate());
+	}
+
+	@Test
+	void scheduledRollForwardPagesThroughTheZone() {
+		userService.registerUser("stats-other", "secret", "stats-other@example.com", User.DEFAULT_TIME_ZONE);
+		User other = userRepository.findByUsername("stats-other").orElseThrow();
+		taskService.createTask(task("Due yesterday", today.minusDays(1)), user);
+		taskService.createTask(task("Due today", today), user);
+		Task done = task("Done yesterday", today.minusDays(1));
+		done.setCompleted(true);
+		taskService.createTask(done, user);
+		taskService.createTask(new Task("Due two days ago", null, "Work", "Low", today.minusDays(2), null, other), other);
+
+		// As if midnight passed once for user and twice for other since their rows were dated
+		for (Long userId : List.of(user.getId(), other.getId())) {
+			UserTaskStats stats = statsRepository.findById(userId).orElseThrow();
+			LocalDate dated = userId.equals(user.getId()) ? today.minusDays(1) : today.minusDays(2);
+			stats.reset(stats.getCompleted(), 0, stats.getOpenCount(), dated);
+			statsRepository.save(stats);
+		}
+
+		taskStatsService.rollForward();
+
+		assertMatchesRecount();
+		UserTaskStats rolled = statsRepository.findById(user.getId()).orElseThrow();
+		assertEquals(1, rolled.getOverdue());
+		assertEquals(today, rolled.getStatsDate());
+		UserTaskStats otherRolled = statsRepository.findById(other.getId()).orElseThrow();
+		assertEquals(1, otherRolled.getOverdue());
+		assertEquals(0, otherRolled.getRemaining());
+		assertEquals(today, otherRolled.getStatsDate());
+	}
+
+	@Test
+	void reconciliationRepairsDriftFromWritesOutsideTaskService() {
+		taskService.createTask(task("Tracked", null), user);
+		taskRepository.save(task("Untracked", today.minusDays(1)));
+
+		assertTrue(taskStatsService.reconcile() >= 1);
+		assertMatchesRecount();
+		assertEquals(0, taskStatsService.reconcile());
+	}
+}